@@ -0,0 +1,142 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.model.entity.Candidature;
+import com.gestionstages.model.entity.Convention;
+import com.gestionstages.model.entity.Entreprise;
+import com.gestionstages.model.entity.Etudiant;
+import com.gestionstages.model.entity.OffreStage;
+import com.gestionstages.model.enums.StatutConventionEnum;
+import com.gestionstages.model.enums.TypeOffreEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the convention PDF rendering paths on one fully populated convention.
+ * Run with {@code -prof gc} to get the allocation per document ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * mvn -P jmh test-compile exec:exec -Djmh.args="ConventionPdf -prof gc"
+ * </pre>
+ * {@code layoutAvant} is the frozen pre-{@link PdfRenderingContext} code ({@link ConventionPdfAvant}),
+ * {@code layout} the current LAYOUT path of {@link PdfGeneratorServiceImpl} and {@code formulaire}
+ * the FORMULAIRE path ({@link ConventionPdfTemplate#remplir}); the master template is built lazily
+ * by the first call, so it is paid during warmup like it is once per instance in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ConventionPdfBenchmark {
+
+    private Convention convention;
+
+    private ConventionPdfAvant avant;
+
+    private PdfGeneratorServiceImpl service;
+
+    private ConventionPdfTemplate template;
+
+    private Path dossier;
+
+    private Path fichier;
+
+    @Setup
+    public void preparer() throws IOException {
+        convention = conventionComplete();
+
+        PdfRenderingContext rendering = new PdfRenderingContext();
+        rendering.init();
+
+        avant = new ConventionPdfAvant();
+        service = new PdfGeneratorServiceImpl();
+        ReflectionTestUtils.setField(service, "rendering", rendering);
+        template = new ConventionPdfTemplate();
+        ReflectionTestUtils.setField(template, "rendering", rendering);
+
+        dossier = Files.createTempDirectory("convention-bench");
+        fichier = dossier.resolve("convention.pdf");
+    }
+
+    @TearDown
+    public void nettoyer() throws IOException {
+        Files.deleteIfExists(fichier);
+        Files.deleteIfExists(dossier);
+    }
+
+    @Benchmark
+    public long layoutAvant() throws IOException {
+        avant.generer(convention, fichier);
+        return Files.size(fichier);
+    }
+
+    @Benchmark
+    public long layout() throws IOException {
+        service.genererLayout(convention, fichier);
+        return Files.size(fichier);
+    }
+
+    @Benchmark
+    public long formulaire() throws IOException {
+        template.remplir(convention, fichier);
+        return Files.size(fichier);
+    }
+
+    private static Convention conventionComplete() {
+        Etudiant etudiant = new Etudiant();
+        etudiant.setPrenom("Camille");
+        etudiant.setNom("Lefèvre");
+        etudiant.setEmail("camille.lefevre@etu.example.fr");
+        etudiant.setTelephone("06 12 34 56 78");
+        etudiant.setNiveau("Master 1");
+        etudiant.setFiliere("Informatique");
+
+        Entreprise entreprise = new Entreprise();
+        entreprise.setNomEntreprise("Société Générale d'Ingénierie");
+        entreprise.setEmail("rh@sgi.example.fr");
+        entreprise.setTelephone("01 23 45 67 89");
+        entreprise.setSecteurActivite("Services numériques");
+        entreprise.setAdresse("12 rue de la République, 69002 Lyon");
+
+        OffreStage offre = new OffreStage();
+        offre.setTitre("Développeur Java / Spring Boot");
+        offre.setTypeOffre(TypeOffreEnum.STAGE);
+        offre.setDuree(6);
+        offre.setRemuneration(new BigDecimal("1200.00"));
+        offre.setEntreprise(entreprise);
+
+        Candidature candidature = new Candidature();
+        candidature.setEtudiant(etudiant);
+        candidature.setOffre(offre);
+
+        Convention convention = new Convention();
+        convention.setId(42L);
+        convention.setCandidature(candidature);
+        convention.setDateGeneration(LocalDateTime.of(2025, 3, 14, 9, 30));
+        convention.setDateDebutStage(LocalDate.of(2025, 4, 1));
+        convention.setDateFinStage(LocalDate.of(2025, 9, 30));
+        convention.setStatut(StatutConventionEnum.EN_ATTENTE_SIGNATURES);
+        convention.setSignatureEtudiant(true);
+        convention.setSignatureEntreprise(true);
+        convention.setSignatureAdministration(false);
+        return convention;
+    }
+}
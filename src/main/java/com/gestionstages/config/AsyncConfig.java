@@ -1,27 +1,113 @@
 package com.gestionstages.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * Background executors, one bounded pool per workload so that a burst in one (e.g. SMTP sends)
+ * cannot starve the others nor spill back onto request threads.
+ * Each pool publishes the Micrometer executor metrics (executor.active, executor.queued,
+ * executor.pool.size, ...) and an executor.rejected counter, tagged with the pool name.
+ * The I/O-bound email pool can run on virtual threads; it stays bounded, so the limits and
+ * metrics are unchanged. The CPU-bound PDF pool always uses platform threads.
+ */
 @Configuration
-@EnableAsync(proxyTargetClass = true)
 public class AsyncConfig {
 
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("async-");
-        executor.setWaitForTasksToCompleteOnShutdown(false);
-        executor.setAwaitTerminationSeconds(0);
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Outbox dispatch loops, i.e. email sends (I/O bound, SMTP latency); its core size bounds
+     * outbox.workers. With async.email.virtual-threads=true (defaults to spring.threads.virtual.enabled)
+     * the pool threads are virtual threads, so a larger pool costs no platform threads.
+     * When saturated, the dispatch request is refused (TaskRejectedException, counted) rather than
+     * run on the caller thread; the messages stay in the outbox and are picked up by the next poll.
+     */
+    @Bean(name = "emailExecutor")
+    public Executor emailExecutor(@Value("${async.email.core-size:4}") int coreSize,
+                                  @Value("${async.email.max-size:10}") int maxSize,
+                                  @Value("${async.email.queue-capacity:500}") int queueCapacity,
+                                  @Value("${async.email.virtual-threads:${spring.threads.virtual.enabled:false}}")
+                                  boolean emailVirtualThreads) {
+        ThreadPoolTaskExecutor executor = newExecutor("email", coreSize, maxSize, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+        if (emailVirtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name("email-", 0).factory());
+        }
+        executor.initialize();
+        monitor(executor, "email");
+        return executor;
+    }
+
+    /**
+     * PDF generation (CPU bound): few threads, and submissions beyond the queue are refused
+     * (TaskRejectedException) so the caller can report the overload.
+     */
+    @Bean(name = "pdfExecutor")
+    public Executor pdfExecutor(@Value("${async.pdf.core-size:2}") int coreSize,
+                                @Value("${async.pdf.max-size:2}") int maxSize,
+                                @Value("${async.pdf.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = newExecutor("pdf", coreSize, maxSize, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        monitor(executor, "pdf");
+        return executor;
+    }
+
+    /**
+     * Streamed exports (StreamingResponseBody), registered as the Spring MVC async executor by
+     * WebAsyncConfig. Each export holds a streaming JDBC connection until it completes, so the pool
+     * is small and has no queue: an export beyond the limit is refused (TaskRejectedException,
+     * answered 503) instead of starting one more thread.
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public AsyncTaskExecutor mvcAsyncExecutor(@Value("${async.export.max-size:4}") int maxSize,
+                                              @Value("${async.export.queue-capacity:0}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = newExecutor("export", maxSize, maxSize, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
         executor.initialize();
+        monitor(executor, "export");
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor newExecutor(String name, int coreSize, int maxSize, int queueCapacity,
+                                               RejectedExecutionHandler policy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(name + "-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.setRejectedExecutionHandler(countRejections(name, policy));
         return executor;
     }
+
+    private RejectedExecutionHandler countRejections(String name, RejectedExecutionHandler policy) {
+        Counter rejections = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the pool and its queue were full")
+                .tag("name", name)
+                .register(meterRegistry);
+        return (task, executor) -> {
+            rejections.increment();
+            policy.rejectedExecution(task, executor);
+        };
+    }
+
+    private void monitor(ThreadPoolTaskExecutor executor, String name) {
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty()).bindTo(meterRegistry);
+    }
 }
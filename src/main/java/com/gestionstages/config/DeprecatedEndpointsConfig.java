@@ -0,0 +1,56 @@
+package com.gestionstages.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Removal plan of the unbounded list endpoints (@Deprecated controller methods, replaced by
+ * their /page variant): every response carries a Deprecation header (and a Sunset header once
+ * api.deprecated.sunset is set), and every call is counted in api.deprecated.appels{endpoint}.
+ * An endpoint is removed once the metric shows no more calls, at the latest on the sunset date.
+ */
+@Configuration
+public class DeprecatedEndpointsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Planned removal date (yyyy-MM-dd), empty until it is announced
+    @Value("${api.deprecated.sunset:}")
+    private String sunset;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        String sunsetHeader = sunset.isBlank() ? null
+                : DateTimeFormatter.RFC_1123_DATE_TIME.format(LocalDate.parse(sunset).atStartOfDay(ZoneOffset.UTC));
+
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(Deprecated.class)) {
+                    response.setHeader("Deprecation", "true");
+                    if (sunsetHeader != null) {
+                        response.setHeader("Sunset", sunsetHeader);
+                    }
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    meterRegistry.counter("api.deprecated.appels",
+                            "endpoint", request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN")).increment();
+                }
+                return true;
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.gestionstages.config;
 
 import com.gestionstages.security.jwt.JwtAuthenticationEntryPoint;
 import com.gestionstages.security.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,6 +51,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Autoriser les requêtes preflight
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Fin des réponses streamées (déjà autorisées)
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll() // Endpoints de test
                         .requestMatchers("/api/offres/publiques").permitAll()
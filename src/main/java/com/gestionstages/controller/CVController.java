@@ -9,18 +9,19 @@ import com.gestionstages.model.enums.RoleEnum;
 import com.gestionstages.repository.EtudiantRepository;
 import com.gestionstages.repository.UtilisateurRepository;
 import com.gestionstages.service.FileStorageService;
+import com.gestionstages.util.FileDownloads;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
@@ -106,13 +107,16 @@ public class CVController {
     /**
      * GET /api/cv/download
      * Downloads the CV of the authenticated student.
+     * Supports Range / If-Range (206 Partial Content) and conditional GET (304).
      * 
      * @param authentication The authenticated user
-     * @return CV file resource
+     * @param request The current request
+     * @param response The response the CV file is written to
      */
     @GetMapping("/download")
     @PreAuthorize("hasRole('ETUDIANT')")
-    public ResponseEntity<Resource> downloadMyCV(Authentication authentication) {
+    public void downloadMyCV(Authentication authentication, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
         String email = authentication.getName();
         
         Utilisateur utilisateur = utilisateurRepository.findByEmail(email)
@@ -125,34 +129,27 @@ public class CVController {
             throw new ResourceNotFoundException("Aucun CV trouvé");
         }
 
-        try {
-            Resource resource = fileStorageService.loadFileAsResource(etudiant.getCv(), "cv");
-            String contentType = "application/octet-stream";
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "attachment; filename=\"" + extractOriginalFilename(etudiant.getCv()) + "\"")
-                    .body(resource);
-        } catch (Exception e) {
-            logger.error("Error downloading CV for student: {}", email, e);
-            throw new BadRequestException("Erreur lors du téléchargement du CV");
-        }
+        FileDownloads.envoyer(request, response, fileStorageService.getFilePath(etudiant.getCv(), "cv").normalize(),
+                extractOriginalFilename(etudiant.getCv()));
     }
 
     /**
      * GET /api/cv/{etudiantId}
      * Downloads a student's CV (for enterprises viewing applications).
+     * Supports Range / If-Range (206 Partial Content) and conditional GET (304).
      * 
      * @param etudiantId The student ID
      * @param authentication The authenticated user
-     * @return CV file resource
+     * @param request The current request
+     * @param response The response the CV file is written to
      */
     @GetMapping("/{etudiantId}")
     @PreAuthorize("hasAnyRole('ENTREPRISE', 'ADMINISTRATION')")
-    public ResponseEntity<Resource> downloadStudentCV(
+    public void downloadStudentCV(
             @PathVariable Long etudiantId,
-            Authentication authentication) {
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         
         Etudiant etudiant = etudiantRepository.findById(etudiantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Étudiant non trouvé"));
@@ -161,19 +158,9 @@ public class CVController {
             throw new ResourceNotFoundException("Cet étudiant n'a pas de CV");
         }
 
-        try {
-            Resource resource = fileStorageService.loadFileAsResource(etudiant.getCv(), "cv");
-            String contentType = "application/octet-stream";
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                            "attachment; filename=\"CV_" + etudiant.getNom() + "_" + etudiant.getPrenom() + ".pdf\"")
-                    .body(resource);
-        } catch (Exception e) {
-            logger.error("Error downloading CV for student ID: {}", etudiantId, e);
-            throw new BadRequestException("Erreur lors du téléchargement du CV");
-        }
+        // Keep the real extension (doc/docx CVs were announced as .pdf)
+        FileDownloads.envoyer(request, response, fileStorageService.getFilePath(etudiant.getCv(), "cv").normalize(),
+                "CV_" + etudiant.getNom() + "_" + etudiant.getPrenom() + "." + getFileExtension(etudiant.getCv()));
     }
 
     /**
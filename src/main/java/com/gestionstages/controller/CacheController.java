@@ -0,0 +1,33 @@
+package com.gestionstages.controller;
+
+import com.gestionstages.model.dto.response.CacheStatsResponse;
+import com.gestionstages.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for cache monitoring.
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    /**
+     * GET /api/admin/cache/stats
+     * Retrieves hit/miss statistics of the application caches.
+     * Requires authentication - admin only.
+     *
+     * @return Cache statistics response
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+}
@@ -2,6 +2,7 @@ package com.gestionstages.controller;
 
 import com.gestionstages.model.dto.request.CandidatureRequest;
 import com.gestionstages.model.dto.response.CandidatureResponse;
+import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.service.CandidatureService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,14 +65,34 @@ public class CandidatureController {
      * 
      * @param authentication The authenticated user
      * @return List of application responses
+     * @deprecated Use /mes-candidatures/page instead
      */
     @GetMapping("/mes-candidatures")
+    @Deprecated
     public ResponseEntity<List<CandidatureResponse>> getMesCandidatures(Authentication authentication) {
         String email = authentication.getName();
         List<CandidatureResponse> candidatures = candidatureService.getCandidaturesByEtudiant(email);
         return ResponseEntity.ok(candidatures);
     }
 
+    /**
+     * GET /api/candidatures/mes-candidatures/page
+     * Retrieves a page of applications of the authenticated student, newest first.
+     * 
+     * @param authentication The authenticated user
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 10, max: 100)
+     * @return Paginated application responses
+     */
+    @GetMapping("/mes-candidatures/page")
+    public ResponseEntity<PageResponse<CandidatureResponse>> getMesCandidaturesPage(
+            Authentication authentication,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        String email = authentication.getName();
+        return ResponseEntity.ok(candidatureService.getCandidaturesByEtudiant(email, page, size));
+    }
+
     /**
      * GET /api/candidatures/offre/{offreId}
      * Retrieves all applications for a specific offer.
@@ -1,17 +1,25 @@
 package com.gestionstages.controller;
 
+import com.gestionstages.exception.ResourceNotFoundException;
 import com.gestionstages.model.dto.response.ConventionResponse;
+import com.gestionstages.model.dto.response.PageResponse;
+import com.gestionstages.model.dto.response.PdfJobResponse;
+import com.gestionstages.model.dto.response.PdfStockageStatsResponse;
 import com.gestionstages.service.ConventionService;
 import com.gestionstages.service.PdfGeneratorService;
+import com.gestionstages.service.PdfJobService;
+import com.gestionstages.util.ETags;
+import com.gestionstages.util.FileDownloads;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -29,6 +37,9 @@ public class ConventionController {
     @Autowired
     private PdfGeneratorService pdfGeneratorService;
 
+    @Autowired
+    private PdfJobService pdfJobService;
+
     /**
      * GET /api/conventions
      * Retrieves all conventions.
@@ -36,12 +47,31 @@ public class ConventionController {
      * 
      * @param authentication The authenticated user
      * @return List of convention responses
+     * @deprecated Use /page instead
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMINISTRATION')")
+    @Deprecated
     public ResponseEntity<List<ConventionResponse>> getAllConventions(Authentication authentication) {
         List<ConventionResponse> conventions = conventionService.getAllConventions();
-        return ResponseEntity.ok(conventions);
+        return withEtag(conventions);
+    }
+
+    /**
+     * GET /api/conventions/page
+     * Retrieves a page of conventions, newest first.
+     * Requires authentication - admin only.
+     * 
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 10, max: 100)
+     * @return Paginated convention responses
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<PageResponse<ConventionResponse>> getConventionsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(conventionService.getAllConventions(page, size));
     }
 
     /**
@@ -55,7 +85,7 @@ public class ConventionController {
     @GetMapping("/{id}")
     public ResponseEntity<ConventionResponse> getConventionById(@PathVariable Long id) {
         ConventionResponse convention = conventionService.getConventionById(id);
-        return ResponseEntity.ok(convention);
+        return ResponseEntity.ok().eTag(ETags.of("convention", version(convention))).body(convention);
     }
 
     /**
@@ -75,7 +105,7 @@ public class ConventionController {
         if (conventions.isEmpty()) {
             conventions = conventionService.getConventionsByEntreprise(email);
         }
-        return ResponseEntity.ok(conventions);
+        return withEtag(conventions);
     }
 
     /**
@@ -91,7 +121,7 @@ public class ConventionController {
     public ResponseEntity<List<ConventionResponse>> getConventionsByEtudiant(Authentication authentication) {
         String email = authentication.getName();
         List<ConventionResponse> conventions = conventionService.getConventionsByEtudiant(email);
-        return ResponseEntity.ok(conventions);
+        return withEtag(conventions);
     }
 
     /**
@@ -107,7 +137,7 @@ public class ConventionController {
     public ResponseEntity<List<ConventionResponse>> getConventionsByEntreprise(Authentication authentication) {
         String email = authentication.getName();
         List<ConventionResponse> conventions = conventionService.getConventionsByEntreprise(email);
-        return ResponseEntity.ok(conventions);
+        return withEtag(conventions);
     }
 
     /**
@@ -165,40 +195,72 @@ public class ConventionController {
 
     /**
      * POST /api/conventions/{id}/generer-pdf
-     * Generates PDF for a convention.
+     * Enqueues the PDF generation of a convention.
      * Requires authentication - convention must be signed.
+     * Answers 202 Accepted with the job; its status is at the Location URL.
+     * Answers 503 if the PDF generation queue is full.
      * 
      * @param id The convention ID
-     * @return Updated convention response with PDF path
+     * @return The PDF generation job
      */
     @PostMapping("/{id}/generer-pdf")
-    public ResponseEntity<ConventionResponse> genererPdf(@PathVariable Long id) {
-        ConventionResponse convention = conventionService.genererPdf(id);
-        return ResponseEntity.ok(convention);
+    public ResponseEntity<PdfJobResponse> genererPdf(@PathVariable Long id) {
+        PdfJobResponse job = pdfJobService.soumettre(id);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/conventions/pdf-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * GET /api/conventions/pdf-jobs/{jobId}
+     * Retrieves the status of a PDF generation job (EN_ATTENTE, EN_COURS, TERMINE, ECHEC).
+     * Requires authentication.
+     * 
+     * @param jobId The job ID
+     * @return The job status, with the PDF file name once TERMINE
+     */
+    @GetMapping("/pdf-jobs/{jobId}")
+    public ResponseEntity<PdfJobResponse> getPdfJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(pdfJobService.getJob(jobId));
+    }
+
+    /**
+     * GET /api/conventions/pdf-stockage/stats
+     * Retrieves the size of the convention PDF store and its deduplication ratio
+     * (generations answered with the existing file of an unchanged convention). The file count
+     * and size are read from the store; the generation counters are those of the instance that
+     * answers, since its startup (compteursDepuis).
+     * Requires authentication - admin only.
+     * 
+     * @return PDF storage statistics
+     */
+    @GetMapping("/pdf-stockage/stats")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<PdfStockageStatsResponse> getPdfStockageStats() {
+        return ResponseEntity.ok(pdfGeneratorService.getStockageStats());
     }
 
     /**
      * GET /api/conventions/{id}/pdf
      * Downloads the PDF file of a convention.
      * Requires authentication.
+     * Supports Range / If-Range (206 Partial Content) and conditional GET (304).
      * 
      * @param id The convention ID
-     * @return PDF file resource
+     * @param request The current request
+     * @param response The response the PDF file is written to
      */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<Resource> downloadPdf(@PathVariable Long id) {
+    public void downloadPdf(@PathVariable Long id, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
         ConventionResponse convention = conventionService.getConventionById(id);
         
         if (convention.getFichierPdf() == null || convention.getFichierPdf().isEmpty()) {
-            return ResponseEntity.notFound().build();
+            throw new ResourceNotFoundException("Aucun PDF généré pour la convention " + id);
         }
 
-        Resource resource = pdfGeneratorService.getPdfResource(convention.getFichierPdf());
-        
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_PDF)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"convention_" + id + ".pdf\"")
-                .body(resource);
+        FileDownloads.envoyer(request, response, pdfGeneratorService.getPdfPath(convention.getFichierPdf()),
+                "convention_" + id + ".pdf");
     }
 
     /**
@@ -215,4 +277,15 @@ public class ConventionController {
         ConventionResponse convention = conventionService.archiverConvention(id);
         return ResponseEntity.ok(convention);
     }
+
+    /**
+     * Returns the list with an ETag derived from its content (it also shows student, offer and
+     * company fields that do not bump the convention version), so that unchanged lists are
+     * answered with 304 Not Modified and no body.
+     */
+    private ResponseEntity<List<ConventionResponse>> withEtag(List<ConventionResponse> conventions) {
+        return ResponseEntity.ok()
+                .eTag(ETags.ofContent("conventions", conventions))
+                .body(conventions);
+    }
 }
@@ -2,10 +2,12 @@ package com.gestionstages.controller;
 
 import com.gestionstages.model.dto.response.DashboardStatsResponse;
 import com.gestionstages.service.DashboardService;
+import com.gestionstages.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST Controller for administration dashboard.
@@ -23,14 +25,22 @@ public class DashboardController {
      * GET /api/admin/dashboard/stats
      * Retrieves comprehensive statistics for the admin dashboard.
      * Requires authentication - admin only.
+     * Supports conditional GET: returns 304 Not Modified when If-None-Match matches
+     * the current statistics. The ETag is derived from the statistics themselves (read from
+     * in-memory counters), so ranking-only changes and restarts are taken into account.
      * 
+     * @param webRequest The current request (conditional headers)
      * @return Dashboard statistics response
      */
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMINISTRATION')")
-    public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
+    public ResponseEntity<DashboardStatsResponse> getDashboardStats(WebRequest webRequest) {
         DashboardStatsResponse stats = dashboardService.getDashboardStats();
-        return ResponseEntity.ok(stats);
+        String etag = ETags.ofContent("dashboard", stats);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(stats);
     }
 }
 
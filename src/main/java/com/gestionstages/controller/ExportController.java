@@ -0,0 +1,104 @@
+package com.gestionstages.controller;
+
+import com.gestionstages.exception.BadRequestException;
+import com.gestionstages.model.enums.FormatExportEnum;
+import com.gestionstages.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST Controller for full data exports.
+ * Responses are streamed: rows are written as they are read from the database.
+ * Only these responses get the long export.timeout-minutes async timeout; other async requests
+ * keep the default one.
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${export.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    /**
+     * GET /api/admin/export/candidatures
+     * Exports every candidature.
+     * Requires authentication - admin only.
+     *
+     * @param format csv (default) or ndjson (one JSON object per line)
+     * @param webRequest The current request (export timeout)
+     * @return Streamed file
+     */
+    @GetMapping("/candidatures")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<StreamingResponseBody> exportCandidatures(
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            NativeWebRequest webRequest) {
+        FormatExportEnum formatExport = parseFormat(format);
+        return stream(webRequest, "candidatures", formatExport, out -> exportService.exportCandidatures(formatExport, out));
+    }
+
+    /**
+     * GET /api/admin/export/conventions
+     * Exports every convention.
+     * Requires authentication - admin only.
+     *
+     * @param format csv (default) or ndjson (one JSON object per line)
+     * @param webRequest The current request (export timeout)
+     * @return Streamed file
+     */
+    @GetMapping("/conventions")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<StreamingResponseBody> exportConventions(
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            NativeWebRequest webRequest) {
+        FormatExportEnum formatExport = parseFormat(format);
+        return stream(webRequest, "conventions", formatExport, out -> exportService.exportConventions(formatExport, out));
+    }
+
+    private FormatExportEnum parseFormat(String format) {
+        try {
+            return FormatExportEnum.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Format d'export invalide: " + format);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(NativeWebRequest webRequest, String nom,
+                                                         FormatExportEnum format, StreamingResponseBody body) {
+        // Applied to this request only, just before its asynchronous processing starts
+        long timeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(ExportController.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        if (request instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeoutMs);
+                        }
+                    }
+                });
+
+        String filename = nom + "_" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
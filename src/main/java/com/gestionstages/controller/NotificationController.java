@@ -18,7 +18,11 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    /**
+     * @deprecated Use /page instead (page size bounded by the server)
+     */
     @GetMapping
+    @Deprecated
     public ResponseEntity<List<NotificationResponse>> getNotifications(Authentication authentication) {
         String email = authentication.getName();
         List<NotificationResponse> notifications = notificationService.getNotificationsByUser(email);
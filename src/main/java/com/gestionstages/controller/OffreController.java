@@ -5,6 +5,7 @@ import com.gestionstages.model.dto.request.OffreRequest;
 import com.gestionstages.model.dto.response.OffreResponse;
 import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.service.OffreService;
+import com.gestionstages.util.ETags;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -41,8 +43,14 @@ public class OffreController {
      * - sortDirection: ASC or DESC
      * - page: Page number (default: 0)
      * - size: Page size (default: 10, max: 100)
+     * - cursor: Cursor mode (keyset, no total count): empty for the first page, then the
+     *   nextCursor of the previous response; page and sortBy are ignored in this mode
      * 
-     * @param filter Filter and pagination parameters
+     * Supports conditional GET: returns 304 Not Modified when If-None-Match matches
+     * the current page. The ETag is derived from the page content (served from the cache),
+     * so the response body is not sent again when nothing changed.
+     * 
+     * @param webRequest The current request (conditional headers)
      * @return Paginated response with filtered offers
      */
     @GetMapping("/publiques")
@@ -54,7 +62,9 @@ public class OffreController {
             @RequestParam(required = false) String sortBy,
             @RequestParam(required = false, defaultValue = "DESC") String sortDirection,
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "10") Integer size) {
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
         
         OffreFilterRequest filter = new OffreFilterRequest();
         filter.setSearch(search);
@@ -77,9 +87,14 @@ public class OffreController {
         filter.setSortDirection(sortDirection);
         filter.setPage(page);
         filter.setSize(size);
+        filter.setCursor(cursor);
         
         PageResponse<OffreResponse> result = offreService.getOffresPubliques(filter);
-        return ResponseEntity.ok(result);
+        String etag = ETags.ofContent("offres", result);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(result);
     }
     
     /**
@@ -98,6 +113,8 @@ public class OffreController {
      * GET /api/offres/{id}
      * Retrieves an offer by its ID.
      * Public endpoint - only validated and non-expired offers are accessible.
+     * The ETag is derived from the offer version and its number of applications,
+     * so unchanged offers are answered with 304 Not Modified and no body.
      * 
      * @param id The offer ID
      * @return Offer response
@@ -105,7 +122,9 @@ public class OffreController {
     @GetMapping("/{id}")
     public ResponseEntity<OffreResponse> getOffreById(@PathVariable Long id) {
         OffreResponse offre = offreService.getOffreById(id);
-        return ResponseEntity.ok(offre);
+        return ResponseEntity.ok()
+                .eTag(ETags.of("offre", offre.getId(), offre.getVersion(), offre.getNombreCandidatures()))
+                .body(offre);
     }
 
     /**
@@ -185,14 +204,34 @@ public class OffreController {
      * 
      * @param authentication The authenticated user
      * @return List of offer responses
+     * @deprecated Use /mes-offres/page instead
      */
     @GetMapping("/mes-offres")
+    @Deprecated
     public ResponseEntity<List<OffreResponse>> getMesOffres(Authentication authentication) {
         String email = authentication.getName();
         List<OffreResponse> offres = offreService.getOffresByEntreprise(email);
         return ResponseEntity.ok(offres);
     }
 
+    /**
+     * GET /api/offres/mes-offres/page
+     * Retrieves a page of offers of the authenticated enterprise, newest first.
+     * 
+     * @param authentication The authenticated user
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 10, max: 100)
+     * @return Paginated offer responses
+     */
+    @GetMapping("/mes-offres/page")
+    public ResponseEntity<PageResponse<OffreResponse>> getMesOffresPage(
+            Authentication authentication,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        String email = authentication.getName();
+        return ResponseEntity.ok(offreService.getOffresByEntreprise(email, page, size));
+    }
+
     /**
      * GET /api/offres/search?titre=...
      * Searches offers by title.
@@ -219,28 +258,47 @@ public class OffreController {
      * Includes all offers regardless of status.
      * 
      * @return List of all offer responses
+     * @deprecated Use /all/page instead
      */
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMINISTRATION')")
+    @Deprecated
     public ResponseEntity<List<OffreResponse>> getAllOffres() {
         List<OffreResponse> offres = offreService.getAllOffres();
         return ResponseEntity.ok(offres);
     }
 
+    /**
+     * GET /api/offres/all/page
+     * Retrieves a page of all offers regardless of status, newest first (admin only).
+     * 
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 10, max: 100)
+     * @return Paginated offer responses
+     */
+    @GetMapping("/all/page")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<PageResponse<OffreResponse>> getAllOffresPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(offreService.getAllOffres(page, size));
+    }
+
     /**
      * POST /api/offres/marquer-expirees
      * Marks expired offers as expired (RG06).
      * Requires authentication - admin only.
-     * This can also be called automatically by a scheduler.
+     * Also run automatically every night by a scheduler (offres.expiration.cron).
      * 
      * @return Success message
      */
     @PostMapping("/marquer-expirees")
     @PreAuthorize("hasRole('ADMINISTRATION')")
     public ResponseEntity<?> marquerOffresExpirees() {
-        offreService.marquerOffresExpirees();
+        List<Long> expirees = offreService.marquerOffresExpirees();
         return ResponseEntity.ok().body(new java.util.HashMap<String, String>() {{
             put("message", "Offres expirées marquées avec succès (RG06)");
+            put("nombre", String.valueOf(expirees.size()));
         }});
     }
 }
@@ -2,6 +2,7 @@ package com.gestionstages.controller;
 
 import com.gestionstages.model.dto.request.AssignTuteurRequest;
 import com.gestionstages.model.dto.request.UpdateSuiviRequest;
+import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.model.dto.response.SuiviStageResponse;
 import com.gestionstages.service.SuiviService;
 import jakarta.validation.Valid;
@@ -48,14 +49,33 @@ public class SuiviController {
      * Requires authentication - admin only.
      * 
      * @return List of all suivi stage responses
+     * @deprecated Use /page instead
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMINISTRATION')")
+    @Deprecated
     public ResponseEntity<List<SuiviStageResponse>> getAllSuivis() {
         List<SuiviStageResponse> suivis = suiviService.getAllSuivis();
         return ResponseEntity.ok(suivis);
     }
 
+    /**
+     * GET /api/suivis/page
+     * Retrieves a page of suivi stages, newest first.
+     * Requires authentication - admin only.
+     * 
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 10, max: 100)
+     * @return Paginated suivi stage responses
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMINISTRATION')")
+    public ResponseEntity<PageResponse<SuiviStageResponse>> getSuivisPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(suiviService.getAllSuivis(page, size));
+    }
+
     /**
      * GET /api/suivis/{id}
      * Retrieves a suivi stage by its ID.
@@ -0,0 +1,11 @@
+package com.gestionstages.event;
+
+/**
+ * Domain event published when an offer of an entreprise is created or deleted.
+ * Handled after commit to refresh the entreprise in the dashboard ranking.
+ *
+ * @param entrepriseId  The entreprise whose offers changed
+ * @param nomEntreprise Its name, as displayed in the ranking
+ */
+public record OffresEntrepriseModifieesEvent(Long entrepriseId, String nomEntreprise) {
+}
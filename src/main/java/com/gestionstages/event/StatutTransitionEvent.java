@@ -0,0 +1,36 @@
+package com.gestionstages.event;
+
+/**
+ * Domain event published when an entity enters, leaves or changes status
+ * (offre, candidature, convention or suivi).
+ * A null {@code ancien} means the entity was created, a null {@code nouveau} means it was deleted.
+ *
+ * @param ancien  Previous status (null on creation)
+ * @param nouveau New status (null on deletion)
+ * @param nombre  Number of entities affected by the transition (bulk updates)
+ */
+public record StatutTransitionEvent(Enum<?> ancien, Enum<?> nouveau, long nombre) {
+
+    public static StatutTransitionEvent creation(Enum<?> statut) {
+        return new StatutTransitionEvent(null, statut, 1);
+    }
+
+    public static StatutTransitionEvent transition(Enum<?> ancien, Enum<?> nouveau) {
+        return new StatutTransitionEvent(ancien, nouveau, 1);
+    }
+
+    public static StatutTransitionEvent transition(Enum<?> ancien, Enum<?> nouveau, long nombre) {
+        return new StatutTransitionEvent(ancien, nouveau, nombre);
+    }
+
+    public static StatutTransitionEvent suppression(Enum<?> statut) {
+        return new StatutTransitionEvent(statut, null, 1);
+    }
+
+    /**
+     * Returns the enum type of the statuses carried by this event.
+     */
+    public Class<?> type() {
+        return (nouveau != null ? nouveau : ancien).getDeclaringClass();
+    }
+}
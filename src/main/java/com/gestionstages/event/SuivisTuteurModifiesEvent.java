@@ -0,0 +1,13 @@
+package com.gestionstages.event;
+
+/**
+ * Domain event published when a suivi of a tutor is created, updated or deleted.
+ * Handled after commit to refresh the tutor in the dashboard ranking.
+ *
+ * @param tuteurId The tutor whose suivis changed
+ * @param nom      Its last name, as displayed in the ranking
+ * @param prenom   Its first name, as displayed in the ranking
+ * @param email    Its email, used to count its active suivis
+ */
+public record SuivisTuteurModifiesEvent(Long tuteurId, String nom, String prenom, String email) {
+}
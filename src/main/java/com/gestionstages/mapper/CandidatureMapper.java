@@ -0,0 +1,26 @@
+package com.gestionstages.mapper;
+
+import com.gestionstages.model.dto.response.CandidatureResponse;
+import com.gestionstages.model.entity.Candidature;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Compile-time mapper from Candidature to CandidatureResponse.
+ */
+@Mapper(componentModel = "spring")
+public interface CandidatureMapper {
+
+    @Mapping(target = "etudiantId", source = "etudiant.id")
+    @Mapping(target = "etudiantNom", source = "etudiant.nom")
+    @Mapping(target = "etudiantPrenom", source = "etudiant.prenom")
+    @Mapping(target = "etudiantEmail", source = "etudiant.email")
+    @Mapping(target = "etudiantNiveau", source = "etudiant.niveau")
+    @Mapping(target = "etudiantFiliere", source = "etudiant.filiere")
+    @Mapping(target = "offreId", source = "offre.id")
+    @Mapping(target = "offreTitre", source = "offre.titre")
+    @Mapping(target = "offreTypeOffre", source = "offre.typeOffre")
+    @Mapping(target = "entrepriseId", source = "offre.entreprise.id")
+    @Mapping(target = "entrepriseNom", source = "offre.entreprise.nomEntreprise")
+    CandidatureResponse toResponse(Candidature candidature);
+}
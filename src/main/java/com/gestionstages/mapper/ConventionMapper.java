@@ -0,0 +1,26 @@
+package com.gestionstages.mapper;
+
+import com.gestionstages.model.dto.response.ConventionResponse;
+import com.gestionstages.model.entity.Convention;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Compile-time mapper from Convention to ConventionResponse.
+ */
+@Mapper(componentModel = "spring")
+public interface ConventionMapper {
+
+    @Mapping(target = "candidatureId", source = "candidature.id")
+    @Mapping(target = "etudiantId", source = "candidature.etudiant.id")
+    @Mapping(target = "etudiantNom", source = "candidature.etudiant.nom")
+    @Mapping(target = "etudiantPrenom", source = "candidature.etudiant.prenom")
+    @Mapping(target = "etudiantEmail", source = "candidature.etudiant.email")
+    @Mapping(target = "offreId", source = "candidature.offre.id")
+    @Mapping(target = "offreTitre", source = "candidature.offre.titre")
+    @Mapping(target = "entrepriseId", source = "candidature.offre.entreprise.id")
+    @Mapping(target = "entrepriseNom", source = "candidature.offre.entreprise.nomEntreprise")
+    @Mapping(target = "suiviStageId", source = "suiviStage.id")
+    @Mapping(target = "hasSuiviStage", expression = "java(convention.getSuiviStage() != null)")
+    ConventionResponse toResponse(Convention convention);
+}
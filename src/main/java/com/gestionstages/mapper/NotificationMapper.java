@@ -0,0 +1,14 @@
+package com.gestionstages.mapper;
+
+import com.gestionstages.model.dto.response.NotificationResponse;
+import com.gestionstages.model.entity.Notification;
+import org.mapstruct.Mapper;
+
+/**
+ * Compile-time mapper from Notification to NotificationResponse.
+ */
+@Mapper(componentModel = "spring")
+public interface NotificationMapper {
+
+    NotificationResponse toResponse(Notification notification);
+}
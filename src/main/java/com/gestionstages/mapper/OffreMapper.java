@@ -0,0 +1,20 @@
+package com.gestionstages.mapper;
+
+import com.gestionstages.model.dto.response.OffreResponse;
+import com.gestionstages.model.entity.OffreStage;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Compile-time mapper from OffreStage to OffreResponse.
+ * nombreCandidatures is computed by the service.
+ */
+@Mapper(componentModel = "spring")
+public interface OffreMapper {
+
+    @Mapping(target = "entrepriseId", source = "entreprise.id")
+    @Mapping(target = "nomEntreprise", source = "entreprise.nomEntreprise")
+    @Mapping(target = "secteurActivite", source = "entreprise.secteurActivite")
+    @Mapping(target = "nombreCandidatures", ignore = true)
+    OffreResponse toResponse(OffreStage offre);
+}
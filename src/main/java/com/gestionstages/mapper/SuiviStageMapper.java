@@ -0,0 +1,32 @@
+package com.gestionstages.mapper;
+
+import com.gestionstages.model.dto.response.SuiviStageResponse;
+import com.gestionstages.model.entity.SuiviStage;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Compile-time mapper from SuiviStage to SuiviStageResponse.
+ */
+@Mapper(componentModel = "spring")
+public interface SuiviStageMapper {
+
+    @Mapping(target = "conventionId", source = "convention.id")
+    @Mapping(target = "dateDebutStage", source = "convention.dateDebutStage")
+    @Mapping(target = "dateFinStage", source = "convention.dateFinStage")
+    @Mapping(target = "tuteurId", source = "tuteur.id")
+    @Mapping(target = "tuteurNom", source = "tuteur.nom")
+    @Mapping(target = "tuteurPrenom", source = "tuteur.prenom")
+    @Mapping(target = "tuteurEmail", source = "tuteur.email")
+    @Mapping(target = "tuteurDepartement", source = "tuteur.departement")
+    @Mapping(target = "tuteurSpecialite", source = "tuteur.specialite")
+    @Mapping(target = "etudiantId", source = "convention.candidature.etudiant.id")
+    @Mapping(target = "etudiantNom", source = "convention.candidature.etudiant.nom")
+    @Mapping(target = "etudiantPrenom", source = "convention.candidature.etudiant.prenom")
+    @Mapping(target = "etudiantEmail", source = "convention.candidature.etudiant.email")
+    @Mapping(target = "etudiantNiveau", source = "convention.candidature.etudiant.niveau")
+    @Mapping(target = "etudiantFiliere", source = "convention.candidature.etudiant.filiere")
+    @Mapping(target = "offreId", source = "convention.candidature.offre.id")
+    @Mapping(target = "offreTitre", source = "convention.candidature.offre.titre")
+    SuiviStageResponse toResponse(SuiviStage suiviStage);
+}
@@ -10,12 +10,13 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class OffreFilterRequest {
-    private String search; // Recherche dans titre et description
+    private String search; // Recherche dans titre, description, compétences et nom de l'entreprise
     private String typeOffre; // STAGE ou ALTERNANCE
     private LocalDate dateDebutMin; // Date de début minimum
     private LocalDate dateDebutMax; // Date de début maximum
-    private String sortBy; // datePublication, dateDebut, remuneration
+    private String sortBy; // pertinence (défaut si search), datePublication, dateDebut, remuneration
     private String sortDirection; // ASC ou DESC
     private Integer page = 0;
     private Integer size = 10;
+    private String cursor; // Mode curseur (keyset) : vide pour la première page, puis nextCursor
 }
@@ -0,0 +1,33 @@
+package com.gestionstages.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private boolean statisticsEnabled;
+
+    // Hibernate second-level cache (entities)
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private long secondLevelCachePuts;
+
+    // Hibernate query cache (findByEmail lookups)
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private long queryCachePuts;
+
+    // Per region: hits, misses, puts, elementCountInMemory
+    private Map<String, Map<String, Long>> regions;
+
+    // JWT principal cache
+    private long principalCacheHits;
+    private long principalCacheMisses;
+    private long principalCacheSize;
+}
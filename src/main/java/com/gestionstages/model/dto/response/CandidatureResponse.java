@@ -1,5 +1,7 @@
 package com.gestionstages.model.dto.response;
 
+import com.gestionstages.model.enums.StatutCandidatureEnum;
+import com.gestionstages.model.enums.TypeOffreEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,4 +35,19 @@ public class CandidatureResponse {
     // Info entreprise
     private Long entrepriseId;
     private String entrepriseNom;
+
+    /**
+     * JPQL constructor projection (see CandidatureRepository): enums are converted to their names.
+     */
+    public CandidatureResponse(Long id, String lettreMotivation, LocalDateTime dateCandidature,
+                               StatutCandidatureEnum statut, String commentaire,
+                               Long etudiantId, String etudiantNom, String etudiantPrenom, String etudiantEmail,
+                               String etudiantNiveau, String etudiantFiliere,
+                               Long offreId, String offreTitre, TypeOffreEnum offreTypeOffre,
+                               Long entrepriseId, String entrepriseNom) {
+        this(id, lettreMotivation, dateCandidature, statut != null ? statut.name() : null, commentaire,
+                etudiantId, etudiantNom, etudiantPrenom, etudiantEmail, etudiantNiveau, etudiantFiliere,
+                offreId, offreTitre, offreTypeOffre != null ? offreTypeOffre.name() : null,
+                entrepriseId, entrepriseNom);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.gestionstages.model.dto.response;
 
+import com.gestionstages.model.enums.StatutConventionEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,6 +22,7 @@ public class ConventionResponse {
     private Boolean signatureEntreprise;
     private Boolean signatureAdministration;
     private String fichierPdf;
+    private Long version;
 
     // Candidature information
     private Long candidatureId;
@@ -40,5 +42,21 @@ public class ConventionResponse {
     // SuiviStage information (if exists)
     private Long suiviStageId;
     private Boolean hasSuiviStage;
+
+    /**
+     * JPQL constructor projection (see ConventionRepository): the statut is converted to its name
+     * and hasSuiviStage is derived from suiviStageId.
+     */
+    public ConventionResponse(Long id, LocalDateTime dateGeneration, LocalDate dateDebutStage, LocalDate dateFinStage,
+                              StatutConventionEnum statut, Boolean signatureEtudiant, Boolean signatureEntreprise,
+                              Boolean signatureAdministration, String fichierPdf, Long version,
+                              Long candidatureId, Long etudiantId, String etudiantNom, String etudiantPrenom,
+                              String etudiantEmail, Long offreId, String offreTitre,
+                              Long entrepriseId, String entrepriseNom, Long suiviStageId) {
+        this(id, dateGeneration, dateDebutStage, dateFinStage, statut != null ? statut.name() : null,
+                signatureEtudiant, signatureEntreprise, signatureAdministration, fichierPdf, version,
+                candidatureId, etudiantId, etudiantNom, etudiantPrenom, etudiantEmail,
+                offreId, offreTitre, entrepriseId, entrepriseNom, suiviStageId, suiviStageId != null);
+    }
 }
 
@@ -24,6 +24,7 @@ public class OffreResponse {
     private String statut;
     private LocalDateTime datePublication;
     private LocalDate dateExpiration;
+    private Long version;
 
     // Info entreprise
     private Long entrepriseId;
@@ -13,8 +13,14 @@ public class PageResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private long totalElements; // -1 en mode curseur (pas de COUNT)
+    private int totalPages; // -1 en mode curseur (pas de COUNT)
     private boolean first;
     private boolean last;
+    private String nextCursor; // Curseur de la page suivante (mode curseur), null sur la dernière page
+
+    public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages,
+                        boolean first, boolean last) {
+        this(content, page, size, totalElements, totalPages, first, last, null);
+    }
 }
@@ -0,0 +1,22 @@
+package com.gestionstages.model.dto.response;
+
+import com.gestionstages.model.enums.StatutPdfJobEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfJobResponse {
+    private String id;
+    private Long conventionId;
+    private StatutPdfJobEnum statut;
+    private String fichierPdf; // Renseigné quand statut = TERMINE
+    private String erreur; // Renseigné quand statut = ECHEC
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateDebut;
+    private LocalDateTime dateFin;
+}
@@ -0,0 +1,28 @@
+package com.gestionstages.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfStockageStatsResponse {
+
+    // Files currently in upload.conventions.dir
+    private long nombreFichiers;
+    private long tailleTotaleOctets;
+
+    // The counters below are in memory: they reset when the instance restarts and each instance
+    // counts only its own generations
+    private String instance; // pid@host
+    private LocalDateTime compteursDepuis;
+
+    // Generation requests since compteursDepuis, on this instance
+    private long generationsDemandees;
+    private long rendus;
+    private long reutilises; // Unchanged convention: existing file returned without rendering
+    private double tauxDeduplication; // reutilises / generationsDemandees
+}
@@ -1,5 +1,6 @@
 package com.gestionstages.model.dto.response;
 
+import com.gestionstages.model.enums.EtatAvancementEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -42,5 +43,23 @@ public class SuiviStageResponse {
     // Offre information
     private Long offreId;
     private String offreTitre;
+
+    /**
+     * JPQL constructor projection (see SuiviStageRepository): the etat is converted to its name.
+     */
+    public SuiviStageResponse(Long id, LocalDateTime dateAffectation, EtatAvancementEnum etatAvancement,
+                              String commentaires, LocalDate derniereVisite,
+                              Long conventionId, LocalDate dateDebutStage, LocalDate dateFinStage,
+                              Long tuteurId, String tuteurNom, String tuteurPrenom, String tuteurEmail,
+                              String tuteurDepartement, String tuteurSpecialite,
+                              Long etudiantId, String etudiantNom, String etudiantPrenom, String etudiantEmail,
+                              String etudiantNiveau, String etudiantFiliere,
+                              Long offreId, String offreTitre) {
+        this(id, dateAffectation, etatAvancement != null ? etatAvancement.name() : null, commentaires, derniereVisite,
+                conventionId, dateDebutStage, dateFinStage,
+                tuteurId, tuteurNom, tuteurPrenom, tuteurEmail, tuteurDepartement, tuteurSpecialite,
+                etudiantId, etudiantNom, etudiantPrenom, etudiantEmail, etudiantNiveau, etudiantFiliere,
+                offreId, offreTitre);
+    }
 }
 
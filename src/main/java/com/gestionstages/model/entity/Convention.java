@@ -51,6 +51,11 @@ public class Convention {
     @Column(name = "fichier_pdf")
     private String fichierPdf;
 
+    // Optimistic locking; also used as the ETag of the convention
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // null until persisted, so that save() persists new entities
+
     @OneToOne(mappedBy = "convention", cascade = CascadeType.ALL)
     private SuiviStage suiviStage;
 }
\ No newline at end of file
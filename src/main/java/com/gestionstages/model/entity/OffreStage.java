@@ -15,7 +15,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "offre_stage")
+@Table(name = "offre_stage", indexes = {
+        // Keyset pagination of public offers: WHERE statut = ... ORDER BY date_publication, id
+        @Index(name = "idx_offre_statut_publication", columnList = "statut, date_publication")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -65,6 +68,11 @@ public class OffreStage {
     @Column(name = "date_expiration")
     private LocalDate dateExpiration;
 
+    // Optimistic locking; also used as the ETag of the offer
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // null until persisted, so that save() persists new entities
+
     @OneToMany(mappedBy = "offre", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Candidature> candidatures = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.gestionstages.model.entity;
+
+import com.gestionstages.model.enums.StatutOutboxEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email or notification to deliver, written in the same transaction as the business change
+ * that triggers it and delivered after commit by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "outbox_message", indexes = {
+        @Index(name = "idx_outbox_statut_prochain_essai", columnList = "statut, prochain_essai")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TypeOutboxEnum type;
+
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId; // Candidature, convention, suivi, offre or utilisateur ID depending on the type
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // JSON parameters (commentaire, signataire, message...)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatutOutboxEnum statut = StatutOutboxEnum.EN_ATTENTE;
+
+    @Column(nullable = false)
+    private Integer tentatives = 0;
+
+    @Column(name = "prochain_essai", nullable = false)
+    private LocalDateTime prochainEssai;
+
+    @Column(name = "derniere_erreur", length = 1000)
+    private String derniereErreur;
+
+    @CreationTimestamp
+    @Column(name = "date_creation", updatable = false)
+    private LocalDateTime dateCreation;
+
+    @Column(name = "date_traitement")
+    private LocalDateTime dateTraitement;
+}
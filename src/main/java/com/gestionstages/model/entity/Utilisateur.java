@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +14,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "utilisateur")
 @Inheritance(strategy = InheritanceType.JOINED)
+// Second-level cache for the whole hierarchy (Etudiant, Entreprise, Tuteur, Administration)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "utilisateur")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,4 +51,8 @@ public class Utilisateur {
 
     @Column(nullable = false)
     private Boolean actif = true;
+
+    // Incremented to revoke every JWT issued before (password change, deactivation)
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.gestionstages.model.enums;
+
+/**
+ * How convention PDFs are rendered (pdf.convention.mode).
+ */
+public enum ModeRenduPdfEnum {
+    // Full layout with the iText layout engine, for every document
+    LAYOUT,
+    // Master AcroForm built once, each document only fills and flattens its fields
+    FORMULAIRE
+}
@@ -0,0 +1,7 @@
+package com.gestionstages.model.enums;
+
+public enum StatutOutboxEnum {
+    EN_ATTENTE,
+    ENVOYE,
+    ECHEC
+}
@@ -0,0 +1,8 @@
+package com.gestionstages.model.enums;
+
+public enum StatutPdfJobEnum {
+    EN_ATTENTE,
+    EN_COURS,
+    TERMINE,
+    ECHEC
+}
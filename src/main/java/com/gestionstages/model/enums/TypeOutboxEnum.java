@@ -0,0 +1,13 @@
+package com.gestionstages.model.enums;
+
+public enum TypeOutboxEnum {
+    EMAIL_CANDIDATURE_ACCEPTEE,
+    EMAIL_CANDIDATURE_REFUSEE,
+    EMAIL_CONVENTION_CREEE,
+    EMAIL_CONVENTION_SIGNEE,
+    EMAIL_CONVENTION_COMPLETE,
+    EMAIL_TUTEUR_ASSIGNE,
+    EMAIL_OFFRE_VALIDEE,
+    EMAIL_OFFRE_REFUSEE,
+    NOTIFICATION
+}
@@ -1,14 +1,22 @@
 package com.gestionstages.repository;
 
+import com.gestionstages.model.dto.response.CandidatureResponse;
 import com.gestionstages.model.entity.Candidature;
 import com.gestionstages.model.entity.Etudiant;
 import com.gestionstages.model.entity.OffreStage;
 import com.gestionstages.model.enums.StatutCandidatureEnum;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CandidatureRepository extends JpaRepository<Candidature, Long> {
@@ -22,4 +30,50 @@ public interface CandidatureRepository extends JpaRepository<Candidature, Long>
     Optional<Candidature> findByEtudiantAndOffre(Etudiant etudiant, OffreStage offre);
 
     Boolean existsByEtudiantAndOffre(Etudiant etudiant, OffreStage offre);
+
+    // Emails: everything the message shows, loaded in one statement (sent after the transaction)
+    @Query("SELECT c FROM Candidature c JOIN FETCH c.etudiant JOIN FETCH c.offre o JOIN FETCH o.entreprise " +
+            "WHERE c.id = :id")
+    Optional<Candidature> findForEmailById(@Param("id") Long id);
+
+    // List projections: one SQL statement, no entity or lazy association loading
+    String RESPONSE_PROJECTION = "SELECT new com.gestionstages.model.dto.response.CandidatureResponse(" +
+            "c.id, c.lettreMotivation, c.dateCandidature, c.statut, c.commentaire, " +
+            "e.id, e.nom, e.prenom, e.email, e.niveau, e.filiere, " +
+            "o.id, o.titre, o.typeOffre, ent.id, ent.nomEntreprise) " +
+            "FROM Candidature c JOIN c.etudiant e JOIN c.offre o JOIN o.entreprise ent ";
+
+    @Query(RESPONSE_PROJECTION + "WHERE o.id = :offreId")
+    List<CandidatureResponse> findResponsesByOffreId(@Param("offreId") Long offreId);
+
+    @Query(RESPONSE_PROJECTION + "WHERE e.email = :email")
+    List<CandidatureResponse> findResponsesByEtudiantEmail(@Param("email") String email);
+
+    @Query(value = RESPONSE_PROJECTION + "WHERE e.email = :email ORDER BY c.dateCandidature DESC, c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM Candidature c WHERE c.etudiant.email = :email")
+    Page<CandidatureResponse> findResponsesByEtudiantEmail(@Param("email") String email, Pageable pageable);
+
+    // Export: rows are streamed from a forward-only cursor (MySQL streams the result set
+    // when the fetch size is Integer.MIN_VALUE); must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "ORDER BY c.id")
+    Stream<CandidatureResponse> streamAllResponses();
+
+    Long countByOffreId(Long offreId);
+
+    // Application counts for a page of offers: one row per offer having applications -> [offreId, count]
+    @Query("SELECT c.offre.id, COUNT(c) FROM Candidature c WHERE c.offre.id IN :offreIds GROUP BY c.offre.id")
+    List<Object[]> countGroupByOffreIds(@Param("offreIds") List<Long> offreIds);
+
+    // RG06 expiry notifications: [etudiant id, offre titre] of the pending applications
+    @Query("SELECT c.etudiant.id, c.offre.titre FROM Candidature c " +
+            "WHERE c.offre.id IN :offreIds AND c.statut = 'EN_ATTENTE'")
+    List<Object[]> findEtudiantEtTitreEnAttenteByOffreIds(@Param("offreIds") List<Long> offreIds);
+
+    // Dashboard aggregate: one row per statut -> [statut, count]
+    @Query("SELECT c.statut, COUNT(c) FROM Candidature c GROUP BY c.statut")
+    List<Object[]> countGroupByStatut();
 }
\ No newline at end of file
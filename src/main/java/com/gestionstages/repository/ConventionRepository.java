@@ -1,15 +1,22 @@
 package com.gestionstages.repository;
 
+import com.gestionstages.model.dto.response.ConventionResponse;
 import com.gestionstages.model.entity.Candidature;
 import com.gestionstages.model.entity.Convention;
 import com.gestionstages.model.enums.StatutConventionEnum;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ConventionRepository extends JpaRepository<Convention, Long> {
@@ -25,4 +32,46 @@ public interface ConventionRepository extends JpaRepository<Convention, Long> {
     List<Convention> findByCandidatureOffreEntrepriseEmail(@Param("email") String email);
 
     Optional<Convention> findByCandidatureId(Long candidatureId);
+
+    // PDF rendering and emails: everything the document shows, loaded in one statement
+    @Query("SELECT c FROM Convention c JOIN FETCH c.candidature ca JOIN FETCH ca.etudiant " +
+            "JOIN FETCH ca.offre o JOIN FETCH o.entreprise WHERE c.id = :id")
+    Optional<Convention> findForPdfById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Convention c SET c.fichierPdf = :fichierPdf, c.version = c.version + 1 WHERE c.id = :id")
+    int updateFichierPdf(@Param("id") Long id, @Param("fichierPdf") String fichierPdf);
+
+    // List projections: one SQL statement, no entity or lazy association loading
+    String RESPONSE_PROJECTION = "SELECT new com.gestionstages.model.dto.response.ConventionResponse(" +
+            "c.id, c.dateGeneration, c.dateDebutStage, c.dateFinStage, c.statut, " +
+            "c.signatureEtudiant, c.signatureEntreprise, c.signatureAdministration, c.fichierPdf, c.version, " +
+            "ca.id, e.id, e.nom, e.prenom, e.email, o.id, o.titre, ent.id, ent.nomEntreprise, s.id) " +
+            "FROM Convention c JOIN c.candidature ca JOIN ca.etudiant e JOIN ca.offre o JOIN o.entreprise ent " +
+            "LEFT JOIN c.suiviStage s ";
+
+    @Query(RESPONSE_PROJECTION)
+    List<ConventionResponse> findAllResponses();
+
+    @Query(value = RESPONSE_PROJECTION + "ORDER BY c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM Convention c")
+    Page<ConventionResponse> findAllResponses(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE e.email = :email")
+    List<ConventionResponse> findResponsesByEtudiantEmail(@Param("email") String email);
+
+    @Query(RESPONSE_PROJECTION + "WHERE ent.email = :email")
+    List<ConventionResponse> findResponsesByEntrepriseEmail(@Param("email") String email);
+
+    // Export: streamed row by row, see CandidatureRepository#streamAllResponses
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "ORDER BY c.id")
+    Stream<ConventionResponse> streamAllResponses();
+
+    // Dashboard aggregate: one row per statut -> [statut, count]
+    @Query("SELECT c.statut, COUNT(c) FROM Convention c GROUP BY c.statut")
+    List<Object[]> countGroupByStatut();
 }
\ No newline at end of file
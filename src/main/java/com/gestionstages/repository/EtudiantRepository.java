@@ -1,7 +1,9 @@
 package com.gestionstages.repository;
 
 import com.gestionstages.model.entity.Etudiant;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,5 +16,6 @@ public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {
 
     List<Etudiant> findByNiveau(String niveau);
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Etudiant> findByEmail(String email);
 }
\ No newline at end of file
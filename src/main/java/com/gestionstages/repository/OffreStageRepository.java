@@ -7,20 +7,48 @@ import com.gestionstages.model.enums.TypeOffreEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OffreStageRepository extends JpaRepository<OffreStage, Long> {
 
+    // Full-text search (MySQL FULLTEXT indexes ft_offre_recherche and ft_entreprise_nom, boolean mode).
+    // The candidate ids come from two index-driven lookups combined by UNION (an OR of both MATCH
+    // across the join cannot use either index and scans every offer); filters and scoring then
+    // only run on those candidates.
+    String FULLTEXT_CANDIDATS = "SELECT ft.id FROM offre_stage ft " +
+            "WHERE MATCH(ft.titre, ft.description, ft.competences_requises) AGAINST(:search IN BOOLEAN MODE) " +
+            "UNION " +
+            "SELECT fo.id FROM entreprise fe JOIN offre_stage fo ON fo.entreprise_id = fe.id " +
+            "WHERE MATCH(fe.nom_entreprise) AGAINST(:search IN BOOLEAN MODE)";
+
+    String FULLTEXT_FROM = "FROM (" + FULLTEXT_CANDIDATS + ") candidats " +
+            "JOIN offre_stage o ON o.id = candidats.id JOIN entreprise e ON e.id = o.entreprise_id " +
+            "WHERE o.statut = 'VALIDEE' " +
+            "AND (o.date_expiration IS NULL OR o.date_expiration > CURRENT_DATE) " +
+            "AND (:typeOffre IS NULL OR o.type_offre = :typeOffre) " +
+            "AND (:dateDebutMin IS NULL OR o.date_debut >= :dateDebutMin) " +
+            "AND (:dateDebutMax IS NULL OR o.date_debut <= :dateDebutMax)";
+
+    // Offer text matches weigh twice as much as enterprise name matches
+    String FULLTEXT_PERTINENCE =
+            "(MATCH(o.titre, o.description, o.competences_requises) AGAINST(:search IN BOOLEAN MODE) * 2 " +
+            "+ MATCH(e.nom_entreprise) AGAINST(:search IN BOOLEAN MODE))";
+
     List<OffreStage> findByStatut(StatutOffreEnum statut);
 
     List<OffreStage> findByEntreprise(Entreprise entreprise);
 
+    Page<OffreStage> findByEntreprise(Entreprise entreprise, Pageable pageable);
+
     List<OffreStage> findByTypeOffre(TypeOffreEnum typeOffre);
 
     @Query("SELECT o FROM OffreStage o WHERE o.statut = :statut AND o.dateExpiration > :date")
@@ -35,13 +63,19 @@ public interface OffreStageRepository extends JpaRepository<OffreStage, Long> {
 
     List<OffreStage> findByTitreContainingIgnoreCase(String titre);
 
+    // Emails: the offer with its enterprise, loaded in one statement (sent after the transaction)
+    @Query("SELECT o FROM OffreStage o JOIN FETCH o.entreprise WHERE o.id = :id")
+    Optional<OffreStage> findForEmailById(@Param("id") Long id);
+
     // Paginated query with filters
     @Query("SELECT o FROM OffreStage o WHERE " +
             "o.statut = 'VALIDEE' " +
             "AND (o.dateExpiration IS NULL OR o.dateExpiration > CURRENT_DATE) " +
             "AND (:search IS NULL OR :search = '' OR " +
             "     LOWER(o.titre) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "     LOWER(o.description) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+            "     LOWER(o.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "     LOWER(o.competencesRequises) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "     LOWER(o.entreprise.nomEntreprise) LIKE LOWER(CONCAT('%', :search, '%'))) " +
             "AND (:typeOffre IS NULL OR :typeOffre = '' OR o.typeOffre = :typeOffre) " +
             "AND (:dateDebutMin IS NULL OR o.dateDebut >= :dateDebutMin) " +
             "AND (:dateDebutMax IS NULL OR o.dateDebut <= :dateDebutMax)")
@@ -52,4 +86,104 @@ public interface OffreStageRepository extends JpaRepository<OffreStage, Long> {
             @Param("dateDebutMax") LocalDate dateDebutMax,
             Pageable pageable
     );
+
+    // Keyset pagination: rows after the cursor (datePublication, id), newest first, no COUNT query
+    @Query("SELECT o FROM OffreStage o WHERE " +
+            "o.statut = 'VALIDEE' " +
+            "AND (o.dateExpiration IS NULL OR o.dateExpiration > CURRENT_DATE) " +
+            "AND (:search IS NULL OR :search = '' OR " +
+            "     LOWER(o.titre) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "     LOWER(o.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "     LOWER(o.competencesRequises) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "     LOWER(o.entreprise.nomEntreprise) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+            "AND (:typeOffre IS NULL OR o.typeOffre = :typeOffre) " +
+            "AND (:dateDebutMin IS NULL OR o.dateDebut >= :dateDebutMin) " +
+            "AND (:dateDebutMax IS NULL OR o.dateDebut <= :dateDebutMax) " +
+            "AND (:apresDate IS NULL OR o.datePublication < :apresDate " +
+            "     OR (o.datePublication = :apresDate AND o.id < :apresId)) " +
+            "ORDER BY o.datePublication DESC, o.id DESC")
+    List<OffreStage> findFilteredOffresApres(
+            @Param("search") String search,
+            @Param("typeOffre") TypeOffreEnum typeOffre,
+            @Param("dateDebutMin") LocalDate dateDebutMin,
+            @Param("dateDebutMax") LocalDate dateDebutMax,
+            @Param("apresDate") LocalDateTime apresDate,
+            @Param("apresId") Long apresId,
+            Pageable limit
+    );
+
+    // Full-text search ranked by relevance; the pageable must be unsorted
+    @Query(value = "SELECT o.* " + FULLTEXT_FROM +
+            " ORDER BY " + FULLTEXT_PERTINENCE + " DESC, o.date_publication DESC, o.id DESC",
+            countQuery = "SELECT COUNT(*) " + FULLTEXT_FROM,
+            nativeQuery = true)
+    Page<OffreStage> searchOffresParPertinence(
+            @Param("search") String search,
+            @Param("typeOffre") String typeOffre,
+            @Param("dateDebutMin") LocalDate dateDebutMin,
+            @Param("dateDebutMax") LocalDate dateDebutMax,
+            Pageable pageable
+    );
+
+    // Full-text search ordered by the pageable sort (column names)
+    @Query(value = "SELECT o.* " + FULLTEXT_FROM,
+            countQuery = "SELECT COUNT(*) " + FULLTEXT_FROM,
+            nativeQuery = true)
+    Page<OffreStage> searchOffres(
+            @Param("search") String search,
+            @Param("typeOffre") String typeOffre,
+            @Param("dateDebutMin") LocalDate dateDebutMin,
+            @Param("dateDebutMax") LocalDate dateDebutMax,
+            Pageable pageable
+    );
+
+    // Full-text search with keyset pagination on (date_publication, id), no COUNT query
+    @Query(value = "SELECT o.* " + FULLTEXT_FROM +
+            " AND (:apresDate IS NULL OR o.date_publication < :apresDate " +
+            "      OR (o.date_publication = :apresDate AND o.id < :apresId)) " +
+            "ORDER BY o.date_publication DESC, o.id DESC",
+            nativeQuery = true)
+    List<OffreStage> searchOffresApres(
+            @Param("search") String search,
+            @Param("typeOffre") String typeOffre,
+            @Param("dateDebutMin") LocalDate dateDebutMin,
+            @Param("dateDebutMax") LocalDate dateDebutMax,
+            @Param("apresDate") LocalDateTime apresDate,
+            @Param("apresId") Long apresId,
+            Pageable limit
+    );
+
+    // RG06 expiry: next chunk (after apresId) of validated offers whose expiration date is passed
+    @Query("SELECT o.id FROM OffreStage o WHERE o.statut = 'VALIDEE' " +
+            "AND o.dateExpiration < :date AND o.id > :apresId ORDER BY o.id")
+    List<Long> findIdsOffresAExpirer(@Param("date") LocalDate date, @Param("apresId") Long apresId, Pageable limit);
+
+    // RG06 expiry: locks the offers of a chunk that are still to expire and returns their ids, without
+    // loading the entities; rows already locked by a concurrent run are skipped, rows it has expired no longer match
+    @Query(value = "SELECT id FROM offre_stage " +
+            "WHERE id IN (:ids) AND statut = 'VALIDEE' AND date_expiration < :date FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> verrouillerOffresAExpirer(@Param("ids") List<Long> ids, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("UPDATE OffreStage o SET o.statut = 'EXPIREE', o.version = o.version + 1 " +
+            "WHERE o.id IN :ids AND o.statut = 'VALIDEE'")
+    int marquerExpirees(@Param("ids") List<Long> ids);
+
+    // RG06 expiry notifications: [entreprise id, titre] of the offers of a chunk
+    @Query("SELECT o.entreprise.id, o.titre FROM OffreStage o WHERE o.id IN :ids AND o.statut = 'EXPIREE'")
+    List<Object[]> findEntrepriseEtTitreByIds(@Param("ids") List<Long> ids);
+
+    // Dashboard aggregate: one row per statut -> [statut, count, expired count]
+    @Query("SELECT o.statut, COUNT(o), " +
+            "SUM(CASE WHEN o.dateExpiration < :date THEN 1 ELSE 0 END) " +
+            "FROM OffreStage o GROUP BY o.statut")
+    List<Object[]> countByStatutWithExpirees(@Param("date") LocalDate date);
+
+    Long countByEntrepriseId(Long entrepriseId);
+
+    // Ranking: [entrepriseId, nomEntreprise, offer count], highest first, bounded by the pageable
+    @Query("SELECT e.id, e.nomEntreprise, COUNT(o) FROM OffreStage o JOIN o.entreprise e " +
+            "GROUP BY e.id, e.nomEntreprise ORDER BY COUNT(o) DESC, e.id ASC")
+    List<Object[]> findTopEntreprisesByNombreOffres(Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.gestionstages.repository;
+
+import com.gestionstages.model.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Claims due messages: rows locked by another dispatcher instance are skipped, not waited for
+    @Query(value = "SELECT id FROM outbox_message " +
+            "WHERE statut = 'EN_ATTENTE' AND prochain_essai <= :maintenant " +
+            "ORDER BY id LIMIT :limite FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> findIdsAEnvoyerForUpdate(@Param("maintenant") LocalDateTime maintenant, @Param("limite") int limite);
+
+    // Lease: claimed messages are not due again until the lease expires (crash during delivery)
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.prochainEssai = :bail WHERE m.id IN :ids")
+    int reporter(@Param("ids") List<Long> ids, @Param("bail") LocalDateTime bail);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.statut = 'ENVOYE', m.dateTraitement = :date, m.derniereErreur = NULL " +
+            "WHERE m.id IN :ids")
+    int marquerEnvoyes(@Param("ids") List<Long> ids, @Param("date") LocalDateTime date);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.statut = 'ENVOYE' AND m.dateTraitement < :limite")
+    int deleteEnvoyesAvant(@Param("limite") LocalDateTime limite);
+}
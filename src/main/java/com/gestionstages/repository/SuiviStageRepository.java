@@ -1,8 +1,11 @@
 package com.gestionstages.repository;
 
+import com.gestionstages.model.dto.response.SuiviStageResponse;
 import com.gestionstages.model.entity.SuiviStage;
 import com.gestionstages.model.entity.Tuteur;
 import com.gestionstages.model.enums.EtatAvancementEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,4 +34,46 @@ public interface SuiviStageRepository extends JpaRepository<SuiviStage, Long> {
     List<SuiviStage> findActiveByEtudiantEmail(@Param("email") String email);
 
     Optional<SuiviStage> findByConventionId(Long conventionId);
+
+    // Emails: everything the message shows, loaded in one statement (sent after the transaction)
+    @Query("SELECT s FROM SuiviStage s JOIN FETCH s.tuteur JOIN FETCH s.convention c " +
+            "JOIN FETCH c.candidature ca JOIN FETCH ca.etudiant JOIN FETCH ca.offre o JOIN FETCH o.entreprise " +
+            "WHERE s.id = :id")
+    Optional<SuiviStage> findForEmailById(@Param("id") Long id);
+
+    // List projections: one SQL statement, no entity or lazy association loading
+    String RESPONSE_PROJECTION = "SELECT new com.gestionstages.model.dto.response.SuiviStageResponse(" +
+            "s.id, s.dateAffectation, s.etatAvancement, s.commentaires, s.derniereVisite, " +
+            "c.id, c.dateDebutStage, c.dateFinStage, " +
+            "t.id, t.nom, t.prenom, t.email, t.departement, t.specialite, " +
+            "e.id, e.nom, e.prenom, e.email, e.niveau, e.filiere, " +
+            "o.id, o.titre) " +
+            "FROM SuiviStage s JOIN s.convention c JOIN s.tuteur t " +
+            "JOIN c.candidature ca JOIN ca.etudiant e JOIN ca.offre o ";
+
+    @Query(RESPONSE_PROJECTION)
+    List<SuiviStageResponse> findAllResponses();
+
+    @Query(value = RESPONSE_PROJECTION + "ORDER BY s.id DESC",
+            countQuery = "SELECT COUNT(s) FROM SuiviStage s")
+    Page<SuiviStageResponse> findAllResponses(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE t.email = :email")
+    List<SuiviStageResponse> findResponsesByTuteurEmail(@Param("email") String email);
+
+    // Dashboard aggregate: one row per etat -> [etatAvancement, count]
+    @Query("SELECT s.etatAvancement, COUNT(s) FROM SuiviStage s GROUP BY s.etatAvancement")
+    List<Object[]> countGroupByEtatAvancement();
+
+    // Dashboard aggregate: single row -> [distinct active students, distinct active tutors]
+    @Query("SELECT COUNT(DISTINCT ca.etudiant.id), COUNT(DISTINCT s.tuteur.id) FROM SuiviStage s " +
+            "JOIN s.convention c JOIN c.candidature ca " +
+            "WHERE s.etatAvancement != 'TERMINE'")
+    List<Object[]> countActiveEtudiantsAndTuteurs();
+
+    // Ranking: [tuteurId, nom, prenom, active student count], highest first, bounded by the pageable
+    @Query("SELECT t.id, t.nom, t.prenom, COUNT(s) FROM SuiviStage s JOIN s.tuteur t " +
+            "WHERE s.etatAvancement != 'TERMINE' " +
+            "GROUP BY t.id, t.nom, t.prenom ORDER BY COUNT(s) DESC, t.id ASC")
+    List<Object[]> findTopTuteursByEtudiantsActifs(Pageable pageable);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.gestionstages.repository;
 
 import com.gestionstages.model.entity.Tuteur;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,5 +16,6 @@ public interface TuteurRepository extends JpaRepository<Tuteur, Long> {
 
     List<Tuteur> findBySpecialite(String specialite);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Tuteur> findByEmail(String email);
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.gestionstages.repository;
 
 import com.gestionstages.model.entity.Utilisateur;
 import com.gestionstages.model.enums.RoleEnum;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +13,7 @@ import java.util.Optional;
 @Repository
 public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Utilisateur> findByEmail(String email);
 
     Boolean existsByEmail(String email);
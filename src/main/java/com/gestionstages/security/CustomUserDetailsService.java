@@ -22,11 +22,30 @@ public class CustomUserDetailsService implements UserDetailsService {
     private UtilisateurRepository utilisateurRepository;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Utilisateur utilisateur = utilisateurRepository.findByEmail(email)
+        return toUserDetails(findUtilisateur(email));
+    }
+
+    /**
+     * Loads the principal used by JWT authentication (see {@link PrincipalCache}).
+     */
+    @Transactional(readOnly = true)
+    public PrincipalCache.CachedPrincipal loadPrincipal(String email) throws UsernameNotFoundException {
+        Utilisateur utilisateur = findUtilisateur(email);
+        return new PrincipalCache.CachedPrincipal(
+                toUserDetails(utilisateur),
+                utilisateur.getRole().name(),
+                utilisateur.getTokenVersion() != null ? utilisateur.getTokenVersion() : 0
+        );
+    }
+
+    private Utilisateur findUtilisateur(String email) {
+        return utilisateurRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé avec l'email: " + email));
+    }
 
+    private UserDetails toUserDetails(Utilisateur utilisateur) {
         return User.builder()
                 .username(utilisateur.getEmail())
                 .password(utilisateur.getMotDePasse())
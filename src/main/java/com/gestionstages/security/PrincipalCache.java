@@ -0,0 +1,84 @@
+package com.gestionstages.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Bounded, expiring cache of authenticated principals keyed by email, so that JWT
+ * authentication does not query the database on every request.
+ * Entries are evicted when a user's profile, password or activation changes; the
+ * expiry bounds staleness for changes made outside the application.
+ */
+@Component
+public class PrincipalCache {
+
+    /**
+     * A user loaded for JWT authentication, with the token version tokens must carry.
+     */
+    public record CachedPrincipal(UserDetails userDetails, String role, int tokenVersion) {
+    }
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, CachedPrincipal> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached principal, loading it from the database on a miss.
+     *
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if the user does not exist
+     */
+    public CachedPrincipal get(String email) {
+        return cache.get(email, customUserDetailsService::loadPrincipal);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Evicts a user once the current transaction commits (immediately if there is none),
+     * so a concurrent request cannot re-cache the state being replaced.
+     */
+    public void evictAfterCommit(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        } else {
+            cache.invalidate(email);
+        }
+    }
+}
@@ -1,73 +1,144 @@
 package com.gestionstages.security.jwt;
 
+import com.gestionstages.model.entity.Utilisateur;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies JWTs.
+ * The signing key and the parser are built once at startup (both are immutable and thread-safe).
+ * Tokens are signed with jwt.secret and carry its key id (kid) header; tokens signed with one of
+ * jwt.previous-secrets are still accepted, so the secret can be rotated without logging everyone out.
+ */
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    @Value("${jwt.previous-secrets:}")
+    private List<String> previousSecrets;
+
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private SecretKey signingKey;
+    private String signingKeyId;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        signingKeyId = keyId(jwtSecret);
+
+        Map<String, SecretKey> verificationKeys = new ConcurrentHashMap<>();
+        verificationKeys.put(signingKeyId, signingKey);
+        for (String secret : previousSecrets) {
+            if (!secret.isBlank()) {
+                verificationKeys.put(keyId(secret.trim()),
+                        Keys.hmacShaKeyFor(secret.trim().getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        // Tokens issued before key ids were introduced are signed with the current secret
+                        if (header.getKeyId() == null) {
+                            return signingKey;
+                        }
+                        SecretKey key = verificationKeys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown JWT key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+    /**
+     * Derives a stable, non-reversible key id from a secret (first 8 bytes of its SHA-256).
+     */
+    private static String keyId(String secret) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Generates a token carrying the user's role and token version, so that requests can be
+     * authorized without reloading the user and tokens can be revoked by bumping the version.
+     */
+    public String generateToken(Utilisateur utilisateur) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(userDetails.getUsername())
+                .header().keyId(signingKeyId).and()
+                .subject(utilisateur.getEmail())
+                .claim(CLAIM_ROLE, utilisateur.getRole().name())
+                .claim(CLAIM_TOKEN_VERSION, utilisateur.getTokenVersion() != null ? utilisateur.getTokenVersion() : 0)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token signature and expiry and returns its claims (single parse per request).
+     *
+     * @param token The compact JWT
+     * @return The claims, or null if the token is invalid
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
             logger.error("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
             logger.error("Unsupported JWT token");
+        } catch (SignatureException ex) {
+            logger.error("Invalid JWT signature");
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Returns the token version carried by the claims; tokens issued before versioning count as 0.
+     */
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        return version != null ? version : 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.gestionstages.service;
+
+import com.gestionstages.model.dto.response.CacheStatsResponse;
+
+/**
+ * Service interface for cache monitoring.
+ */
+public interface CacheStatsService {
+
+    /**
+     * Retrieves hit/miss statistics of the Hibernate second-level and query caches
+     * and of the JWT principal cache.
+     *
+     * @return Cache statistics response
+     */
+    CacheStatsResponse getCacheStats();
+}
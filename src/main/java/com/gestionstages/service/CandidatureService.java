@@ -2,6 +2,7 @@ package com.gestionstages.service;
 
 import com.gestionstages.model.dto.request.CandidatureRequest;
 import com.gestionstages.model.dto.response.CandidatureResponse;
+import com.gestionstages.model.dto.response.PageResponse;
 
 import java.util.List;
 
@@ -22,6 +23,11 @@ public interface CandidatureService {
      * Récupère toutes les candidatures d'un étudiant
      */
     List<CandidatureResponse> getCandidaturesByEtudiant(String emailEtudiant);
+
+    /**
+     * Récupère une page des candidatures d'un étudiant, les plus récentes d'abord
+     */
+    PageResponse<CandidatureResponse> getCandidaturesByEtudiant(String emailEtudiant, int page, int size);
     
     /**
      * Récupère toutes les candidatures pour une offre (entreprise propriétaire uniquement)
@@ -1,12 +1,14 @@
 package com.gestionstages.service;
 
 import com.gestionstages.model.dto.response.ConventionResponse;
+import com.gestionstages.model.dto.response.PageResponse;
 
 import java.util.List;
 
 /**
  * Service interface for managing conventions.
- * Handles signature management, PDF generation, and status transitions (RG04).
+ * Handles signature management and status transitions (RG04).
+ * PDF generation is handled by {@link PdfJobService}.
  */
 public interface ConventionService {
     
@@ -16,6 +18,15 @@ public interface ConventionService {
      * @return List of all convention responses
      */
     List<ConventionResponse> getAllConventions();
+
+    /**
+     * Retrieves a page of conventions (admin only), newest first.
+     * 
+     * @param page Page number (0-based)
+     * @param size Page size (bounded by the server)
+     * @return Page of convention responses
+     */
+    PageResponse<ConventionResponse> getAllConventions(int page, int size);
     
     /**
      * Retrieves a convention by its ID.
@@ -73,15 +84,6 @@ public interface ConventionService {
      */
     ConventionResponse signerAdmin(Long conventionId);
     
-    /**
-     * Generates PDF for a convention.
-     * Only generates PDF if convention is signed (status = SIGNEE).
-     * 
-     * @param conventionId The convention ID
-     * @return Updated convention response with PDF path
-     */
-    ConventionResponse genererPdf(Long conventionId);
-    
     /**
      * Archives a convention.
      * Only signed conventions can be archived.
@@ -13,5 +13,10 @@ public interface DashboardService {
      * @return Dashboard statistics response
      */
     DashboardStatsResponse getDashboardStats();
-}
 
+    /**
+     * Re-derives the dashboard counters from the database and reports any drift.
+     * Runs periodically; also used to initialize the counters on first access.
+     */
+    void reconcilierCompteurs();
+}
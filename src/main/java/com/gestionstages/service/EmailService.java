@@ -2,6 +2,11 @@ package com.gestionstages.service;
 
 import com.gestionstages.model.entity.*;
 
+/**
+ * Service interface for transactional emails.
+ * Sends are synchronous and throw on failure: they are called by the outbox dispatcher,
+ * which retries failed messages (see OutboxService).
+ */
 public interface EmailService {
     
     void sendCandidatureAcceptee(Candidature candidature);
@@ -0,0 +1,32 @@
+package com.gestionstages.service;
+
+import com.gestionstages.model.enums.FormatExportEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for full data exports (admin only).
+ * Rows are read from a database cursor and written to the output stream one by one,
+ * so memory usage does not depend on the table size.
+ */
+public interface ExportService {
+
+    /**
+     * Writes every candidature to the output stream.
+     *
+     * @param format The export format (CSV or NDJSON)
+     * @param out The output stream (not closed)
+     * @throws IOException If writing fails (e.g. client disconnected)
+     */
+    void exportCandidatures(FormatExportEnum format, OutputStream out) throws IOException;
+
+    /**
+     * Writes every convention to the output stream.
+     *
+     * @param format The export format (CSV or NDJSON)
+     * @param out The output stream (not closed)
+     * @throws IOException If writing fails (e.g. client disconnected)
+     */
+    void exportConventions(FormatExportEnum format, OutputStream out) throws IOException;
+}
@@ -14,7 +14,7 @@ public interface OffreService {
      * Accessible à tous (étudiants)
      */
     PageResponse<OffreResponse> getOffresPubliques(OffreFilterRequest filter);
-    
+
     /**
      * Récupère toutes les offres publiques (validées et non expirées)
      * Accessible à tous (étudiants)
@@ -54,6 +54,11 @@ public interface OffreService {
      * Récupère toutes les offres d'une entreprise
      */
     List<OffreResponse> getOffresByEntreprise(String emailEntreprise);
+
+    /**
+     * Récupère une page des offres d'une entreprise, les plus récentes d'abord
+     */
+    PageResponse<OffreResponse> getOffresByEntreprise(String emailEntreprise, int page, int size);
     
     /**
      * Recherche d'offres par titre
@@ -65,11 +70,18 @@ public interface OffreService {
      * Inclut toutes les offres, y compris celles en attente
      */
     List<OffreResponse> getAllOffres();
+
+    /**
+     * Récupère une page de toutes les offres (admin uniquement), les plus récentes d'abord
+     */
+    PageResponse<OffreResponse> getAllOffres(int page, int size);
     
     /**
      * Marque automatiquement les offres expirées (RG06)
      * Business Rule RG06: Une offre expirée n'est plus consultable
-     * Cette méthode doit être appelée périodiquement (scheduler) ou manuellement
+     * Cette méthode est appelée périodiquement (scheduler) ou manuellement
+     *
+     * @return IDs des offres marquées comme expirées
      */
-    void marquerOffresExpirees();
+    List<Long> marquerOffresExpirees();
 }
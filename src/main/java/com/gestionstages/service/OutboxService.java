@@ -0,0 +1,34 @@
+package com.gestionstages.service;
+
+import com.gestionstages.model.enums.TypeOutboxEnum;
+
+import java.util.Map;
+
+/**
+ * Service interface for the transactional outbox.
+ * Emails and notifications are recorded in the caller's transaction, so they exist if and only
+ * if the business change commits, and are delivered after commit (with retries) by the dispatcher.
+ */
+public interface OutboxService {
+
+    /**
+     * Records an email to send once the current transaction commits.
+     * Must be called inside a transaction.
+     *
+     * @param type The email type
+     * @param referenceId ID of the candidature, convention, suivi or offre the email is about
+     * @param parametres Additional template parameters (e.g. commentaire), values may be null
+     */
+    void publierEmail(TypeOutboxEnum type, Long referenceId, Map<String, String> parametres);
+
+    /**
+     * Records an in-app notification to create once the current transaction commits.
+     * Must be called inside a transaction.
+     *
+     * @param utilisateurId The recipient ID
+     * @param message The notification message
+     * @param type The notification type (CANDIDATURE, CONVENTION, OFFRE, SUIVI)
+     * @param lienAction URL to navigate to when clicked
+     */
+    void publierNotification(Long utilisateurId, String message, String type, String lienAction);
+}
@@ -1,7 +1,9 @@
 package com.gestionstages.service;
 
+import com.gestionstages.model.dto.response.PdfStockageStatsResponse;
 import com.gestionstages.model.entity.Convention;
-import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
 
 /**
  * Service for generating PDF documents from conventions.
@@ -10,6 +12,8 @@ public interface PdfGeneratorService {
     
     /**
      * Generates a PDF document for a convention.
+     * Files are named after a hash of the rendered inputs: if the convention did not change
+     * since its last rendering, the existing file is returned without rendering.
      * 
      * @param convention The convention to generate PDF for
      * @return Path to the generated PDF file
@@ -18,10 +22,24 @@ public interface PdfGeneratorService {
     String generateConventionPdf(Convention convention) throws Exception;
     
     /**
-     * Retrieves a PDF file as a resource.
+     * Resolves the path of a PDF file.
+     * 
+     * @param fileName The PDF file name
+     * @return Path of the PDF file (which may not exist)
+     */
+    Path getPdfPath(String fileName);
+
+    /**
+     * Deletes a PDF file that is no longer referenced (e.g. replaced by a newer rendering).
      * 
      * @param fileName The PDF file name
-     * @return Resource containing the PDF file
      */
-    Resource getPdfResource(String fileName);
+    void deletePdf(String fileName);
+
+    /**
+     * Retrieves the size of the PDF store and how many generations reused an existing file.
+     * 
+     * @return PDF storage statistics
+     */
+    PdfStockageStatsResponse getStockageStats();
 }
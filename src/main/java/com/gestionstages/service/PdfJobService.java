@@ -0,0 +1,38 @@
+package com.gestionstages.service;
+
+import com.gestionstages.model.dto.response.PdfJobResponse;
+
+/**
+ * Service interface for asynchronous convention PDF generation.
+ * Render jobs run on the bounded PDF pool; their status is kept in memory and can be polled.
+ */
+public interface PdfJobService {
+
+    /**
+     * Enqueues the PDF generation of a convention.
+     * Only signed conventions (status = SIGNEE) can be rendered (RG04).
+     * If a job is already pending or running for the convention, that job is returned.
+     *
+     * @param conventionId The convention ID
+     * @return The job, with its ID and status
+     * @throws org.springframework.core.task.TaskRejectedException if the PDF pool is saturated
+     */
+    PdfJobResponse soumettre(Long conventionId);
+
+    /**
+     * Enqueues the PDF generation of a convention once the current transaction commits
+     * (e.g. when the last signature is recorded). A saturated pool is logged, not reported:
+     * the PDF can still be generated on demand.
+     *
+     * @param conventionId The convention ID
+     */
+    void soumettreApresCommit(Long conventionId);
+
+    /**
+     * Retrieves the status of a job.
+     *
+     * @param jobId The job ID
+     * @return The job status
+     */
+    PdfJobResponse getJob(String jobId);
+}
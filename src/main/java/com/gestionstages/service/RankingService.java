@@ -0,0 +1,33 @@
+package com.gestionstages.service;
+
+import com.gestionstages.model.dto.response.DashboardStatsResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the dashboard rankings (top entreprises, top tuteurs).
+ * Rankings are computed with a single aggregate query and then maintained incrementally
+ * from OffresEntrepriseModifieesEvent and SuivisTuteurModifiesEvent, after commit.
+ */
+public interface RankingService {
+
+    /**
+     * Retrieves the entreprises with the most offers.
+     *
+     * @return Top entreprises, highest first
+     */
+    List<DashboardStatsResponse.TopEntreprise> getTopEntreprises();
+
+    /**
+     * Retrieves the tutors with the most active (non-terminated) students.
+     *
+     * @return Top tuteurs, highest first
+     */
+    List<DashboardStatsResponse.TopTuteur> getTopTuteurs();
+
+    /**
+     * Discards both rankings so that the next read re-seeds them from the database.
+     * Called by the periodic dashboard reconciliation to correct any drift.
+     */
+    void invalider();
+}
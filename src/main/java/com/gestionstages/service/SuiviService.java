@@ -2,6 +2,7 @@ package com.gestionstages.service;
 
 import com.gestionstages.model.dto.request.AssignTuteurRequest;
 import com.gestionstages.model.dto.request.UpdateSuiviRequest;
+import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.model.dto.response.SuiviStageResponse;
 
 import java.util.List;
@@ -28,6 +29,15 @@ public interface SuiviService {
      * @return List of all suivi stage responses
      */
     List<SuiviStageResponse> getAllSuivis();
+
+    /**
+     * Retrieves a page of suivi stages (admin only), newest first.
+     * 
+     * @param page Page number (0-based)
+     * @param size Page size (bounded by the server)
+     * @return Page of suivi stage responses
+     */
+    PageResponse<SuiviStageResponse> getAllSuivis(int page, int size);
     
     /**
      * Retrieves a suivi stage by its ID.
@@ -59,13 +59,13 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Generate JWT token
-        String jwt = tokenProvider.generateToken(authentication);
-
         // Get user details
         Utilisateur utilisateur = utilisateurRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new BadRequestException("Utilisateur non trouvé"));
 
+        // Generate JWT token (role and token version claims)
+        String jwt = tokenProvider.generateToken(utilisateur);
+
         return new JwtResponse(
                 jwt,
                 utilisateur.getId(),
@@ -0,0 +1,66 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.model.dto.response.CacheStatsResponse;
+import com.gestionstages.security.PrincipalCache;
+import com.gestionstages.service.CacheStatsService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service implementation for cache monitoring.
+ * Hibernate counters are only collected when hibernate.generate_statistics is enabled.
+ * Region statistics are read with getCacheRegionStatistics, which accepts both entity regions
+ * and query results regions (getDomainDataRegionStatistics rejects the latter).
+ */
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        response.setSecondLevelCacheHits(statistics.getSecondLevelCacheHitCount());
+        response.setSecondLevelCacheMisses(statistics.getSecondLevelCacheMissCount());
+        response.setSecondLevelCachePuts(statistics.getSecondLevelCachePutCount());
+        response.setQueryCacheHits(statistics.getQueryCacheHitCount());
+        response.setQueryCacheMisses(statistics.getQueryCacheMissCount());
+        response.setQueryCachePuts(statistics.getQueryCachePutCount());
+
+        Map<String, Map<String, Long>> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                Map<String, Long> values = new LinkedHashMap<>();
+                values.put("hits", region.getHitCount());
+                values.put("misses", region.getMissCount());
+                values.put("puts", region.getPutCount());
+                values.put("elementCountInMemory", region.getElementCountInMemory());
+                regions.put(regionName, values);
+            }
+        }
+        response.setRegions(regions);
+
+        CacheStats principalStats = principalCache.stats();
+        response.setPrincipalCacheHits(principalStats.hitCount());
+        response.setPrincipalCacheMisses(principalStats.missCount());
+        response.setPrincipalCacheSize(principalCache.estimatedSize());
+
+        return response;
+    }
+}
@@ -1,10 +1,13 @@
 package com.gestionstages.service.impl;
 
+import com.gestionstages.event.StatutTransitionEvent;
 import com.gestionstages.exception.BadRequestException;
 import com.gestionstages.exception.ResourceNotFoundException;
 import com.gestionstages.exception.UnauthorizedException;
+import com.gestionstages.mapper.CandidatureMapper;
 import com.gestionstages.model.dto.request.CandidatureRequest;
 import com.gestionstages.model.dto.response.CandidatureResponse;
+import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.model.entity.Candidature;
 import com.gestionstages.model.entity.Convention;
 import com.gestionstages.model.entity.Etudiant;
@@ -14,22 +17,24 @@ import com.gestionstages.model.enums.RoleEnum;
 import com.gestionstages.model.enums.StatutCandidatureEnum;
 import com.gestionstages.model.enums.StatutConventionEnum;
 import com.gestionstages.model.enums.StatutOffreEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
 import com.gestionstages.repository.CandidatureRepository;
 import com.gestionstages.repository.ConventionRepository;
 import com.gestionstages.repository.EtudiantRepository;
 import com.gestionstages.repository.OffreStageRepository;
 import com.gestionstages.repository.UtilisateurRepository;
 import com.gestionstages.service.CandidatureService;
-import com.gestionstages.service.EmailService;
-import com.gestionstages.service.NotificationService;
-import org.modelmapper.ModelMapper;
+import com.gestionstages.service.OutboxService;
+import com.gestionstages.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service implementation for managing applications (candidatures).
@@ -54,13 +59,16 @@ public class CandidatureServiceImpl implements CandidatureService {
     private ConventionRepository conventionRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CandidatureMapper candidatureMapper;
 
     @Autowired
-    private EmailService emailService;
+    private OutboxService outboxService;
 
     @Autowired
-    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OffresPubliquesCache offresPubliquesCache;
 
     /**
      * Creates a new application for an offer.
@@ -113,6 +121,9 @@ public class CandidatureServiceImpl implements CandidatureService {
         candidature.setStatut(StatutCandidatureEnum.EN_ATTENTE);
 
         Candidature savedCandidature = candidatureRepository.save(candidature);
+        eventPublisher.publishEvent(StatutTransitionEvent.creation(StatutCandidatureEnum.EN_ATTENTE));
+        // Cached public pages show the application count of each offer
+        offresPubliquesCache.invalidateAfterCommit();
         return convertToResponse(savedCandidature);
     }
 
@@ -142,10 +153,17 @@ public class CandidatureServiceImpl implements CandidatureService {
         Etudiant etudiant = etudiantRepository.findByEmail(emailEtudiant)
                 .orElseThrow(() -> new ResourceNotFoundException("Étudiant non trouvé"));
 
-        List<Candidature> candidatures = candidatureRepository.findByEtudiant(etudiant);
-        return candidatures.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return candidatureRepository.findResponsesByEtudiantEmail(etudiant.getEmail());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<CandidatureResponse> getCandidaturesByEtudiant(String emailEtudiant, int page, int size) {
+        Etudiant etudiant = etudiantRepository.findByEmail(emailEtudiant)
+                .orElseThrow(() -> new ResourceNotFoundException("Étudiant non trouvé"));
+
+        return Pagination.toPageResponse(
+                candidatureRepository.findResponsesByEtudiantEmail(etudiant.getEmail(), Pagination.of(page, size)));
     }
 
     /**
@@ -168,10 +186,7 @@ public class CandidatureServiceImpl implements CandidatureService {
             throw new UnauthorizedException("Vous n'êtes pas autorisé à consulter les candidatures de cette offre");
         }
 
-        List<Candidature> candidatures = candidatureRepository.findByOffre(offre);
-        return candidatures.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return candidatureRepository.findResponsesByOffreId(offre.getId());
     }
 
     /**
@@ -206,6 +221,8 @@ public class CandidatureServiceImpl implements CandidatureService {
         candidature.setDateTraitement(LocalDateTime.now());
 
         Candidature savedCandidature = candidatureRepository.save(candidature);
+        eventPublisher.publishEvent(StatutTransitionEvent.transition(
+                StatutCandidatureEnum.EN_ATTENTE, StatutCandidatureEnum.ACCEPTEE));
 
         // RG03: An accepted application triggers automatic convention generation
         Convention savedConvention = null;
@@ -220,14 +237,15 @@ public class CandidatureServiceImpl implements CandidatureService {
             convention.setSignatureAdministration(false);
             
             savedConvention = conventionRepository.save(convention);
+            eventPublisher.publishEvent(StatutTransitionEvent.creation(StatutConventionEnum.BROUILLON));
         }
 
-        // Send email and notification asynchronously (non-blocking)
-        emailService.sendCandidatureAcceptee(savedCandidature);
+        // Email and notification recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_CANDIDATURE_ACCEPTEE, savedCandidature.getId(), Map.of());
         if (savedConvention != null) {
-            emailService.sendConventionCreee(savedConvention);
+            outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_CREEE, savedConvention.getId(), Map.of());
         }
-        notificationService.creerNotification(
+        outboxService.publierNotification(
                 savedCandidature.getEtudiant().getId(),
                 "Votre candidature pour '" + savedCandidature.getOffre().getTitre() + "' a été acceptée !",
                 "CANDIDATURE",
@@ -270,10 +288,13 @@ public class CandidatureServiceImpl implements CandidatureService {
         candidature.setDateTraitement(LocalDateTime.now());
 
         Candidature savedCandidature = candidatureRepository.save(candidature);
+        eventPublisher.publishEvent(StatutTransitionEvent.transition(
+                StatutCandidatureEnum.EN_ATTENTE, StatutCandidatureEnum.REFUSEE));
         
-        // Send email and notification asynchronously (non-blocking)
-        emailService.sendCandidatureRefusee(savedCandidature, commentaire);
-        notificationService.creerNotification(
+        // Email and notification recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_CANDIDATURE_REFUSEE, savedCandidature.getId(),
+                Collections.singletonMap("commentaire", commentaire));
+        outboxService.publierNotification(
                 savedCandidature.getEtudiant().getId(),
                 "Votre candidature pour '" + savedCandidature.getOffre().getTitre() + "' a été refusée.",
                 "CANDIDATURE",
@@ -310,6 +331,8 @@ public class CandidatureServiceImpl implements CandidatureService {
         }
 
         candidatureRepository.delete(candidature);
+        eventPublisher.publishEvent(StatutTransitionEvent.suppression(candidature.getStatut()));
+        offresPubliquesCache.invalidateAfterCommit();
     }
 
     /**
@@ -320,32 +343,6 @@ public class CandidatureServiceImpl implements CandidatureService {
      * @return Application response DTO
      */
     private CandidatureResponse convertToResponse(Candidature candidature) {
-        CandidatureResponse response = modelMapper.map(candidature, CandidatureResponse.class);
-        response.setStatut(candidature.getStatut().name());
-
-        // Student information
-        if (candidature.getEtudiant() != null) {
-            response.setEtudiantId(candidature.getEtudiant().getId());
-            response.setEtudiantNom(candidature.getEtudiant().getNom());
-            response.setEtudiantPrenom(candidature.getEtudiant().getPrenom());
-            response.setEtudiantEmail(candidature.getEtudiant().getEmail());
-            response.setEtudiantNiveau(candidature.getEtudiant().getNiveau());
-            response.setEtudiantFiliere(candidature.getEtudiant().getFiliere());
-        }
-
-        // Offer information
-        if (candidature.getOffre() != null) {
-            response.setOffreId(candidature.getOffre().getId());
-            response.setOffreTitre(candidature.getOffre().getTitre());
-            response.setOffreTypeOffre(candidature.getOffre().getTypeOffre().name());
-
-            // Enterprise information
-            if (candidature.getOffre().getEntreprise() != null) {
-                response.setEntrepriseId(candidature.getOffre().getEntreprise().getId());
-                response.setEntrepriseNom(candidature.getOffre().getEntreprise().getNomEntreprise());
-            }
-        }
-
-        return response;
+        return candidatureMapper.toResponse(candidature);
     }
 }
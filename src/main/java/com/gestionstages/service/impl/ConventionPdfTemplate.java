@@ -0,0 +1,330 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.model.entity.Candidature;
+import com.gestionstages.model.entity.Convention;
+import com.gestionstages.model.entity.Entreprise;
+import com.gestionstages.model.entity.Etudiant;
+import com.gestionstages.model.entity.OffreStage;
+import com.itextpdf.forms.PdfAcroForm;
+import com.itextpdf.forms.fields.PdfFormField;
+import com.itextpdf.forms.fields.PdfTextFormField;
+import com.itextpdf.forms.fields.TextFormFieldBuilder;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.properties.TextAlignment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Form-fill rendering of convention PDFs (pdf.convention.mode=FORMULAIRE).
+ *
+ * The boilerplate of the convention (bands, frames, labels) is laid out once into an in-memory
+ * master PDF whose variable parts are AcroForm text fields. Each convention copies the master,
+ * fills its fields and flattens them, so the layout engine only runs once per instance.
+ * The master is a fixed one-page layout with the same sections as the layout path; optional
+ * values (niveau, filière, ...) are shown as N/A instead of being omitted. A value too wide for
+ * its field at the template font size is wrapped and shrunk to fit rather than clipped.
+ */
+@Component
+public class ConventionPdfTemplate {
+
+    private static final float GAUCHE = 50;
+    private static final float LARGEUR = 495;
+    private static final float HAUTEUR_LIGNE = 34;
+    private static final float HAUTEUR_BANDE = 24;
+    // Horizontal padding iText leaves inside a text field, on each side
+    private static final float MARGE_CHAMP = 2;
+
+    @Autowired
+    private PdfRenderingContext rendering;
+
+    private volatile byte[] modele;
+
+    /**
+     * Writes the PDF of a convention from the master template.
+     *
+     * @param convention The convention, with its candidature, etudiant, offre and entreprise loaded
+     * @param destination The file to write
+     */
+    public void remplir(Convention convention, Path destination) throws IOException {
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(modele())),
+                new PdfWriter(destination.toFile()))) {
+            PdfAcroForm form = PdfAcroForm.getAcroForm(pdf, false);
+            colorerSignature(form, "signatureEtudiant", convention.getSignatureEtudiant());
+            colorerSignature(form, "signatureEntreprise", convention.getSignatureEntreprise());
+            colorerSignature(form, "signatureAdministration", convention.getSignatureAdministration());
+            PdfFont police = rendering.police();
+            valeurs(convention).forEach((nom, valeur) -> {
+                PdfFormField champ = form.getField(nom);
+                ajusterTaille(champ, valeur, police);
+                champ.setValue(valeur);
+            });
+            form.flattenFields();
+        }
+    }
+
+    /**
+     * Switches a field to multiline with auto font size when the value does not fit on one line
+     * at the template font size, so that flattening does not clip it.
+     */
+    private void ajusterTaille(PdfFormField champ, String valeur, PdfFont police) {
+        float largeur = champ.getWidgets().get(0).getRectangle().toRectangle().getWidth() - 2 * MARGE_CHAMP;
+        if (police.getWidth(valeur, champ.getFontSize()) > largeur) {
+            champ.setFieldFlag(PdfTextFormField.FF_MULTILINE, true);
+            champ.setFontSize(0);
+        }
+    }
+
+    private Map<String, String> valeurs(Convention convention) {
+        Candidature candidature = convention.getCandidature();
+        Etudiant etudiant = candidature != null ? candidature.getEtudiant() : null;
+        OffreStage offre = candidature != null ? candidature.getOffre() : null;
+        Entreprise entreprise = offre != null ? offre.getEntreprise() : null;
+
+        Map<String, String> valeurs = new LinkedHashMap<>();
+        valeurs.put("numero", String.valueOf(convention.getId()));
+        valeurs.put("dateGeneration", convention.getDateGeneration().format(PdfRenderingContext.DATETIME_FORMATTER));
+        valeurs.put("statut", convention.getStatut().toString());
+        valeurs.put("duree", ChronoUnit.DAYS.between(convention.getDateDebutStage(), convention.getDateFinStage()) + " jours");
+        valeurs.put("dateDebut", convention.getDateDebutStage().format(PdfRenderingContext.DATE_FORMATTER));
+        valeurs.put("dateFin", convention.getDateFinStage().format(PdfRenderingContext.DATE_FORMATTER));
+
+        String nomEtudiant = etudiant != null ? etudiant.getPrenom() + " " + etudiant.getNom() : null;
+        valeurs.put("etudiantNom", valeur(nomEtudiant));
+        valeurs.put("etudiantEmail", valeur(etudiant != null ? etudiant.getEmail() : null));
+        valeurs.put("etudiantNiveau", valeur(etudiant != null ? etudiant.getNiveau() : null));
+        valeurs.put("etudiantFiliere", valeur(etudiant != null ? etudiant.getFiliere() : null));
+        valeurs.put("etudiantTelephone", valeur(etudiant != null ? etudiant.getTelephone() : null));
+
+        valeurs.put("entrepriseNom", valeur(entreprise != null ? entreprise.getNomEntreprise() : null));
+        valeurs.put("entrepriseEmail", valeur(entreprise != null ? entreprise.getEmail() : null));
+        valeurs.put("entrepriseSecteur", valeur(entreprise != null ? entreprise.getSecteurActivite() : null));
+        valeurs.put("entrepriseAdresse", valeur(entreprise != null ? entreprise.getAdresse() : null));
+        valeurs.put("entrepriseTelephone", valeur(entreprise != null ? entreprise.getTelephone() : null));
+
+        valeurs.put("offreTitre", valeur(offre != null ? offre.getTitre() : null));
+        valeurs.put("offreType", valeur(offre != null ? offre.getTypeOffre().toString() : null));
+        valeurs.put("offreDuree", valeur(offre != null && offre.getDuree() != null ? offre.getDuree() + " mois" : null));
+        valeurs.put("offreRemuneration", valeur(offre != null && offre.getRemuneration() != null
+                ? offre.getRemuneration() + " €" : null));
+
+        valeurs.put("signatureEtudiant", statutSignature(convention.getSignatureEtudiant()));
+        valeurs.put("signatureEntreprise", statutSignature(convention.getSignatureEntreprise()));
+        valeurs.put("signatureAdministration", statutSignature(convention.getSignatureAdministration()));
+        valeurs.put("signataireEtudiant", valeur(nomEtudiant));
+        valeurs.put("signataireEntreprise", valeur(entreprise != null ? entreprise.getNomEntreprise() : null));
+
+        valeurs.put("piedDePage", "Document généré le " + LocalDateTime.now().format(PdfRenderingContext.DATETIME_FORMATTER)
+                + " - Système de Gestion de Stages et Alternances");
+        return valeurs;
+    }
+
+    private String valeur(String valeur) {
+        return valeur != null ? valeur : "N/A";
+    }
+
+    private String statutSignature(boolean signe) {
+        return signe ? "✓ Signé" : "✗ Non signé";
+    }
+
+    private void colorerSignature(PdfAcroForm form, String nom, boolean signe) {
+        form.getField(nom).setColor(signe ? PdfRenderingContext.ACCENT_COLOR : PdfRenderingContext.DANGER_COLOR);
+    }
+
+    /**
+     * The master template, laid out on first use.
+     */
+    private byte[] modele() {
+        byte[] resultat = modele;
+        if (resultat == null) {
+            synchronized (this) {
+                resultat = modele;
+                if (resultat == null) {
+                    resultat = construireModele();
+                    modele = resultat;
+                }
+            }
+        }
+        return resultat;
+    }
+
+    private byte[] construireModele() {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(sortie))) {
+            Modele m = new Modele(pdf, rendering.police());
+            float haut = PageSize.A4.getTop() - 50;
+
+            // Header with colored background
+            m.rectangle(GAUCHE, haut - 60, LARGEUR, 60, PdfRenderingContext.PRIMARY_COLOR, null);
+            m.texteCentre("CONVENTION DE STAGE", haut - 32, rendering.title);
+            m.texteCentre("Document Officiel", haut - 52, rendering.subtitle);
+
+            // Convention Number Badge
+            m.rectangle(GAUCHE, haut - 102, LARGEUR, 30, PdfRenderingContext.LIGHT_BG, PdfRenderingContext.BORDER_COLOR);
+            m.texte("N° Convention:", GAUCHE + 170, haut - 93, rendering.badge);
+            m.champ("numero", GAUCHE + 290, haut - 95, 100, 14, PdfRenderingContext.PRIMARY_COLOR);
+
+            // Convention Info and Stage Period
+            float colonne = (LARGEUR - 11) / 2;
+            float droite = GAUCHE + colonne + 11;
+            float panneau = haut - 202;
+            m.rectangle(GAUCHE, panneau, colonne, 90, PdfRenderingContext.LIGHT_BG, PdfRenderingContext.BORDER_COLOR);
+            m.rectangle(droite, panneau, colonne, 90, PdfRenderingContext.LIGHT_BG, PdfRenderingContext.BORDER_COLOR);
+            m.texte("Informations de la Convention", GAUCHE + 10, panneau + 68, rendering.sectionTitle);
+            m.ligneInfo("Date de génération:", "dateGeneration", GAUCHE + 10, panneau + 48, colonne - 20);
+            m.ligneInfo("Statut:", "statut", GAUCHE + 10, panneau + 30, colonne - 20);
+            m.ligneInfo("Durée:", "duree", GAUCHE + 10, panneau + 12, colonne - 20);
+            m.texte("Période du Stage", droite + 10, panneau + 68, rendering.sectionTitle);
+            m.ligneInfo("Date de début:", "dateDebut", droite + 10, panneau + 48, colonne - 20);
+            m.ligneInfo("Date de fin:", "dateFin", droite + 10, panneau + 30, colonne - 20);
+
+            // Student, Company and Offer Information Sections
+            float y = panneau - 15;
+            y = m.section("Informations de l'Étudiant", y, new String[][]{
+                    {"Nom complet", "etudiantNom", "Email", "etudiantEmail"},
+                    {"Niveau", "etudiantNiveau", "Filière", "etudiantFiliere"},
+                    {"Téléphone", "etudiantTelephone"}});
+            y = m.section("Informations de l'Entreprise", y - 10, new String[][]{
+                    {"Nom de l'entreprise", "entrepriseNom", "Email", "entrepriseEmail"},
+                    {"Secteur d'activité", "entrepriseSecteur", "Adresse", "entrepriseAdresse"},
+                    {"Téléphone", "entrepriseTelephone"}});
+            y = m.section("Informations de l'Offre", y - 10, new String[][]{
+                    {"Titre", "offreTitre", "Type", "offreType"},
+                    {"Durée", "offreDuree", "Rémunération", "offreRemuneration"}});
+
+            // Signatures Section
+            y -= 10;
+            m.rectangle(GAUCHE, y - HAUTEUR_BANDE, LARGEUR, HAUTEUR_BANDE, PdfRenderingContext.ACCENT_COLOR, null);
+            m.texte("Signatures", GAUCHE + 10, y - 18, rendering.sectionHeaderTitle);
+            y -= HAUTEUR_BANDE + 10;
+            float largeurSignature = LARGEUR / 3;
+            String[][] signatures = {
+                    {"Étudiant", "signatureEtudiant", "signataireEtudiant"},
+                    {"Entreprise", "signatureEntreprise", "signataireEntreprise"},
+                    {"Administration", "signatureAdministration", null}};
+            for (int i = 0; i < signatures.length; i++) {
+                float x = GAUCHE + i * largeurSignature;
+                m.rectangle(x, y - 60, largeurSignature, 60, PdfRenderingContext.LIGHT_BG, PdfRenderingContext.BORDER_COLOR);
+                m.texte(signatures[i][0], x + 10, y - 18, rendering.signatureRole);
+                m.champ(signatures[i][1], x + 10, y - 38, largeurSignature - 20, 13, PdfRenderingContext.ACCENT_COLOR);
+                if (signatures[i][2] != null) {
+                    m.champ(signatures[i][2], x + 10, y - 54, largeurSignature - 20, 9, PdfRenderingContext.MUTED_TEXT);
+                } else {
+                    m.texte("Service Administratif", x + 10, y - 54, rendering.signatureName);
+                }
+            }
+
+            // Footer
+            m.rectangle(GAUCHE, 50, LARGEUR, 22, PdfRenderingContext.LIGHT_BG, PdfRenderingContext.BORDER_COLOR);
+            m.champ("piedDePage", GAUCHE + 10, 54, LARGEUR - 20, 9, PdfRenderingContext.MUTED_TEXT);
+
+            m.fermer();
+        }
+        return sortie.toByteArray();
+    }
+
+    /**
+     * Drawing helpers for the master template (single A4 page).
+     */
+    private class Modele {
+        private final PdfDocument pdf;
+        private final PdfPage page;
+        private final PdfCanvas pdfCanvas;
+        private final Canvas canvas;
+        private final PdfAcroForm form;
+        private final PdfFont police;
+
+        Modele(PdfDocument pdf, PdfFont police) {
+            this.pdf = pdf;
+            this.police = police;
+            this.page = pdf.addNewPage(PageSize.A4);
+            this.pdfCanvas = new PdfCanvas(page);
+            this.canvas = new Canvas(pdfCanvas, PageSize.A4);
+            this.canvas.setFont(police);
+            this.form = PdfAcroForm.getAcroForm(pdf, true);
+        }
+
+        void rectangle(float x, float y, float largeur, float hauteur, Color fond, Color bordure) {
+            pdfCanvas.saveState();
+            if (fond != null) {
+                pdfCanvas.setFillColor(fond).rectangle(x, y, largeur, hauteur).fill();
+            }
+            if (bordure != null) {
+                pdfCanvas.setStrokeColor(bordure).setLineWidth(1).rectangle(x, y, largeur, hauteur).stroke();
+            }
+            pdfCanvas.restoreState();
+        }
+
+        void texte(String texte, float x, float y, Style style) {
+            canvas.showTextAligned(new Paragraph(texte).addStyle(style).setMargin(0), x, y, TextAlignment.LEFT);
+        }
+
+        void texteCentre(String texte, float y, Style style) {
+            canvas.showTextAligned(new Paragraph(texte).addStyle(style).setMargin(0),
+                    GAUCHE + LARGEUR / 2, y, TextAlignment.CENTER);
+        }
+
+        void champ(String nom, float x, float y, float largeur, float taille, Color couleur) {
+            PdfTextFormField champ = new TextFormFieldBuilder(pdf, nom)
+                    .setWidgetRectangle(new Rectangle(x, y, largeur, taille + 4))
+                    .createText();
+            champ.setFont(police);
+            champ.setFontSize(taille);
+            champ.setColor(couleur);
+            form.addField(champ, page);
+        }
+
+        void ligneInfo(String libelle, String nom, float x, float y, float largeur) {
+            texte(libelle, x, y, rendering.infoRow);
+            champ(nom, x + 105, y - 3, largeur - 105, 10, ColorConstants.BLACK);
+        }
+
+        /**
+         * Draws a section band and its rows of label/value cells (two per row).
+         *
+         * @return The y coordinate below the section
+         */
+        float section(String titre, float y, String[][] lignes) {
+            rectangle(GAUCHE, y - HAUTEUR_BANDE, LARGEUR, HAUTEUR_BANDE, PdfRenderingContext.SECONDARY_COLOR, null);
+            texte(titre, GAUCHE + 10, y - 18, rendering.sectionHeaderTitle);
+            y -= HAUTEUR_BANDE;
+            float largeurCellule = LARGEUR / 2;
+            for (int i = 0; i < lignes.length; i++) {
+                y -= HAUTEUR_LIGNE;
+                for (int j = 0; j < lignes[i].length; j += 2) {
+                    float x = GAUCHE + (j / 2) * largeurCellule;
+                    rectangle(x, y, largeurCellule, HAUTEUR_LIGNE,
+                            i % 2 == 0 ? PdfRenderingContext.LIGHT_BG : ColorConstants.WHITE,
+                            PdfRenderingContext.BORDER_COLOR);
+                    texte(lignes[i][j], x + 8, y + HAUTEUR_LIGNE - 12, rendering.tableLabel);
+                    champ(lignes[i][j + 1], x + 8, y + 3, largeurCellule - 16, 10, PdfRenderingContext.BODY_TEXT);
+                }
+            }
+            return y;
+        }
+
+        void fermer() {
+            canvas.close();
+        }
+    }
+}
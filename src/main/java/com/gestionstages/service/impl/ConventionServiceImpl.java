@@ -1,26 +1,31 @@
 package com.gestionstages.service.impl;
 
+import com.gestionstages.event.StatutTransitionEvent;
 import com.gestionstages.exception.BadRequestException;
 import com.gestionstages.exception.ResourceNotFoundException;
 import com.gestionstages.exception.UnauthorizedException;
+import com.gestionstages.mapper.ConventionMapper;
 import com.gestionstages.model.dto.response.ConventionResponse;
+import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.model.entity.Convention;
 import com.gestionstages.model.enums.StatutConventionEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
 import com.gestionstages.repository.ConventionRepository;
 import com.gestionstages.service.ConventionService;
-import com.gestionstages.service.EmailService;
-import com.gestionstages.service.PdfGeneratorService;
-import org.modelmapper.ModelMapper;
+import com.gestionstages.service.OutboxService;
+import com.gestionstages.service.PdfJobService;
+import com.gestionstages.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service implementation for managing conventions.
- * Handles signature management, PDF generation, and status transitions (RG04).
+ * Handles signature management and status transitions (RG04).
  */
 @Service
 public class ConventionServiceImpl implements ConventionService {
@@ -29,21 +34,27 @@ public class ConventionServiceImpl implements ConventionService {
     private ConventionRepository conventionRepository;
 
     @Autowired
-    private PdfGeneratorService pdfGeneratorService;
+    private PdfJobService pdfJobService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ConventionMapper conventionMapper;
 
     @Autowired
-    private EmailService emailService;
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
     public List<ConventionResponse> getAllConventions() {
-        List<Convention> conventions = conventionRepository.findAll();
-        return conventions.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return conventionRepository.findAllResponses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ConventionResponse> getAllConventions(int page, int size) {
+        return Pagination.toPageResponse(conventionRepository.findAllResponses(Pagination.of(page, size)));
     }
 
     @Override
@@ -57,19 +68,13 @@ public class ConventionServiceImpl implements ConventionService {
     @Override
     @Transactional(readOnly = true)
     public List<ConventionResponse> getConventionsByEtudiant(String emailEtudiant) {
-        List<Convention> conventions = conventionRepository.findByCandidatureEtudiantEmail(emailEtudiant);
-        return conventions.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return conventionRepository.findResponsesByEtudiantEmail(emailEtudiant);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ConventionResponse> getConventionsByEntreprise(String emailEntreprise) {
-        List<Convention> conventions = conventionRepository.findByCandidatureOffreEntrepriseEmail(emailEntreprise);
-        return conventions.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return conventionRepository.findResponsesByEntrepriseEmail(emailEntreprise);
     }
 
     @Override
@@ -94,10 +99,11 @@ public class ConventionServiceImpl implements ConventionService {
         
         Convention savedConvention = conventionRepository.save(convention);
         
-        // Send email notification asynchronously (non-blocking)
-        emailService.sendConventionSignee(savedConvention, "l'étudiant");
+        // Emails recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_SIGNEE, savedConvention.getId(),
+                Map.of("signataire", "l'étudiant"));
         if (savedConvention.getStatut() == StatutConventionEnum.SIGNEE) {
-            emailService.sendConventionComplete(savedConvention);
+            outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_COMPLETE, savedConvention.getId(), Map.of());
         }
         
         return convertToResponse(savedConvention);
@@ -125,10 +131,11 @@ public class ConventionServiceImpl implements ConventionService {
         
         Convention savedConvention = conventionRepository.save(convention);
         
-        // Send email notification asynchronously (non-blocking)
-        emailService.sendConventionSignee(savedConvention, "l'entreprise");
+        // Emails recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_SIGNEE, savedConvention.getId(),
+                Map.of("signataire", "l'entreprise"));
         if (savedConvention.getStatut() == StatutConventionEnum.SIGNEE) {
-            emailService.sendConventionComplete(savedConvention);
+            outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_COMPLETE, savedConvention.getId(), Map.of());
         }
         
         return convertToResponse(savedConvention);
@@ -151,37 +158,16 @@ public class ConventionServiceImpl implements ConventionService {
         
         Convention savedConvention = conventionRepository.save(convention);
         
-        // Send email notification asynchronously (non-blocking)
-        emailService.sendConventionSignee(savedConvention, "l'administration");
+        // Emails recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_SIGNEE, savedConvention.getId(),
+                Map.of("signataire", "l'administration"));
         if (savedConvention.getStatut() == StatutConventionEnum.SIGNEE) {
-            emailService.sendConventionComplete(savedConvention);
+            outboxService.publierEmail(TypeOutboxEnum.EMAIL_CONVENTION_COMPLETE, savedConvention.getId(), Map.of());
         }
         
         return convertToResponse(savedConvention);
     }
 
-    @Override
-    @Transactional
-    public ConventionResponse genererPdf(Long conventionId) {
-        Convention convention = conventionRepository.findById(conventionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Convention non trouvée avec l'ID: " + conventionId));
-
-        // Only generate PDF if convention is signed (RG04)
-        if (convention.getStatut() != StatutConventionEnum.SIGNEE) {
-            throw new BadRequestException("Impossible de générer le PDF. La convention doit être signée par les trois parties.");
-        }
-
-        // Generate PDF
-        try {
-            String pdfFileName = pdfGeneratorService.generateConventionPdf(convention);
-            convention.setFichierPdf(pdfFileName);
-            Convention savedConvention = conventionRepository.save(convention);
-            return convertToResponse(savedConvention);
-        } catch (Exception e) {
-            throw new RuntimeException("Erreur lors de la génération du PDF: " + e.getMessage(), e);
-        }
-    }
-
     @Override
     @Transactional
     public ConventionResponse archiverConvention(Long conventionId) {
@@ -195,6 +181,8 @@ public class ConventionServiceImpl implements ConventionService {
 
         convention.setStatut(StatutConventionEnum.ARCHIVEE);
         Convention savedConvention = conventionRepository.save(convention);
+        eventPublisher.publishEvent(StatutTransitionEvent.transition(
+                StatutConventionEnum.SIGNEE, StatutConventionEnum.ARCHIVEE));
         return convertToResponse(savedConvention);
     }
 
@@ -206,6 +194,7 @@ public class ConventionServiceImpl implements ConventionService {
      * - Automatically generates PDF when all 3 signatures are collected (SPRINT2_PLAN.md line 198)
      */
     private void updateConventionStatus(Convention convention) {
+        StatutConventionEnum ancienStatut = convention.getStatut();
         boolean allSigned = convention.getSignatureEtudiant() && 
                            convention.getSignatureEntreprise() && 
                            convention.getSignatureAdministration();
@@ -214,15 +203,10 @@ public class ConventionServiceImpl implements ConventionService {
             convention.setStatut(StatutConventionEnum.SIGNEE);
             
             // Automatically generate PDF when all 3 signatures are collected (SPRINT2_PLAN.md line 198)
+            // Rendered by the PDF pool after commit; a failure does not fail the signature process
+            // and the PDF can be generated manually later if needed
             if (convention.getFichierPdf() == null || convention.getFichierPdf().isEmpty()) {
-                try {
-                    String pdfFileName = pdfGeneratorService.generateConventionPdf(convention);
-                    convention.setFichierPdf(pdfFileName);
-                } catch (Exception e) {
-                    // Log error but don't fail the signature process
-                    // PDF can be generated manually later if needed
-                    System.err.println("Erreur lors de la génération automatique du PDF: " + e.getMessage());
-                }
+                pdfJobService.soumettreApresCommit(convention.getId());
             }
         } else if (convention.getSignatureEtudiant() || 
                    convention.getSignatureEntreprise() || 
@@ -231,6 +215,10 @@ public class ConventionServiceImpl implements ConventionService {
             convention.setStatut(StatutConventionEnum.EN_ATTENTE_SIGNATURES);
         }
         // Otherwise stays BROUILLON
+
+        if (convention.getStatut() != ancienStatut) {
+            eventPublisher.publishEvent(StatutTransitionEvent.transition(ancienStatut, convention.getStatut()));
+        }
     }
 
     /**
@@ -241,42 +229,6 @@ public class ConventionServiceImpl implements ConventionService {
      * @return Convention response DTO
      */
     private ConventionResponse convertToResponse(Convention convention) {
-        ConventionResponse response = modelMapper.map(convention, ConventionResponse.class);
-        response.setStatut(convention.getStatut().name());
-
-        // Candidature information
-        if (convention.getCandidature() != null) {
-            response.setCandidatureId(convention.getCandidature().getId());
-
-            // Student information
-            if (convention.getCandidature().getEtudiant() != null) {
-                response.setEtudiantId(convention.getCandidature().getEtudiant().getId());
-                response.setEtudiantNom(convention.getCandidature().getEtudiant().getNom());
-                response.setEtudiantPrenom(convention.getCandidature().getEtudiant().getPrenom());
-                response.setEtudiantEmail(convention.getCandidature().getEtudiant().getEmail());
-            }
-
-            // Offre information
-            if (convention.getCandidature().getOffre() != null) {
-                response.setOffreId(convention.getCandidature().getOffre().getId());
-                response.setOffreTitre(convention.getCandidature().getOffre().getTitre());
-
-                // Enterprise information
-                if (convention.getCandidature().getOffre().getEntreprise() != null) {
-                    response.setEntrepriseId(convention.getCandidature().getOffre().getEntreprise().getId());
-                    response.setEntrepriseNom(convention.getCandidature().getOffre().getEntreprise().getNomEntreprise());
-                }
-            }
-        }
-
-        // SuiviStage information
-        if (convention.getSuiviStage() != null) {
-            response.setSuiviStageId(convention.getSuiviStage().getId());
-            response.setHasSuiviStage(true);
-        } else {
-            response.setHasSuiviStage(false);
-        }
-
-        return response;
+        return conventionMapper.toResponse(convention);
     }
 }
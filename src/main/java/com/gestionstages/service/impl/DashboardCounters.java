@@ -0,0 +1,133 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.event.StatutTransitionEvent;
+import com.gestionstages.model.enums.EtatAvancementEnum;
+import com.gestionstages.model.enums.StatutCandidatureEnum;
+import com.gestionstages.model.enums.StatutConventionEnum;
+import com.gestionstages.model.enums.StatutOffreEnum;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory dashboard counters, one LongAdder per status value.
+ * Updated after commit by {@link StatutTransitionEvent}s and periodically re-derived from
+ * the database by {@link DashboardServiceImpl#reconcilierCompteurs()}.
+ *
+ * Reconciliation runs on the scheduler thread and, for the first dashboard request, on request
+ * threads (virtual threads in that mode): it is guarded by a {@link ReentrantLock} rather than
+ * {@code synchronized}, which would pin the carrier thread of a waiting virtual thread.
+ */
+@Component
+public class DashboardCounters {
+
+    /**
+     * Counts loaded from the database, used to (re)initialize the counters.
+     */
+    public record Snapshot(Map<Enum<?>, Long> compteurs, long offresExpirees,
+                           long etudiantsEnStage, long tuteursActifs) {
+    }
+
+    private final Map<Enum<?>, LongAdder> compteurs = new ConcurrentHashMap<>();
+
+    private final ReentrantLock reconciliation = new ReentrantLock();
+
+    private volatile boolean initialise = false;
+    private volatile boolean actifsAJour = false;
+    private volatile long offresExpirees;
+    private volatile long etudiantsEnStage;
+    private volatile long tuteursActifs;
+
+    public DashboardCounters() {
+        enregistrer(StatutOffreEnum.values());
+        enregistrer(StatutCandidatureEnum.values());
+        enregistrer(StatutConventionEnum.values());
+        enregistrer(EtatAvancementEnum.values());
+    }
+
+    private void enregistrer(Enum<?>[] statuts) {
+        for (Enum<?> statut : statuts) {
+            compteurs.put(statut, new LongAdder());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatutTransition(StatutTransitionEvent event) {
+        if (event.ancien() != null) {
+            compteurs.get(event.ancien()).add(-event.nombre());
+        }
+        if (event.nouveau() != null) {
+            compteurs.get(event.nouveau()).add(event.nombre());
+        }
+        if (event.type() == EtatAvancementEnum.class) {
+            // Distinct active students/tutors cannot be derived from a status delta
+            actifsAJour = false;
+        }
+    }
+
+    public boolean isInitialise() {
+        return initialise;
+    }
+
+    public boolean isActifsAJour() {
+        return actifsAJour;
+    }
+
+    public long get(Enum<?> statut) {
+        return compteurs.get(statut).sum();
+    }
+
+    public long getOffresExpirees() {
+        return offresExpirees;
+    }
+
+    public long getEtudiantsEnStage() {
+        return etudiantsEnStage;
+    }
+
+    public long getTuteursActifs() {
+        return tuteursActifs;
+    }
+
+    public void setActifs(long etudiantsEnStage, long tuteursActifs) {
+        this.etudiantsEnStage = etudiantsEnStage;
+        this.tuteursActifs = tuteursActifs;
+        this.actifsAJour = true;
+    }
+
+    /**
+     * Aligns the counters on counts re-derived from the database.
+     * Transitions committed while the snapshot was being read may be counted twice or missed;
+     * the next reconciliation corrects them.
+     *
+     * @param snapshot Counts loaded from the database
+     * @return Drift per status (counter value minus database value), empty if none
+     */
+    public Map<String, Long> reconcilier(Snapshot snapshot) {
+        reconciliation.lock();
+        try {
+            Map<String, Long> drift = new LinkedHashMap<>();
+            compteurs.forEach((statut, adder) -> {
+                long attendu = snapshot.compteurs().getOrDefault(statut, 0L);
+                long ecart = adder.sum() - attendu;
+                if (ecart != 0) {
+                    adder.add(-ecart);
+                    if (initialise) {
+                        drift.put(statut.getDeclaringClass().getSimpleName() + "." + statut.name(), ecart);
+                    }
+                }
+            });
+            offresExpirees = snapshot.offresExpirees();
+            setActifs(snapshot.etudiantsEnStage(), snapshot.tuteursActifs());
+            initialise = true;
+            return drift;
+        } finally {
+            reconciliation.unlock();
+        }
+    }
+}
@@ -1,32 +1,36 @@
 package com.gestionstages.service.impl;
 
 import com.gestionstages.model.dto.response.DashboardStatsResponse;
-import com.gestionstages.model.entity.Entreprise;
-import com.gestionstages.model.entity.OffreStage;
-import com.gestionstages.model.entity.SuiviStage;
-import com.gestionstages.model.entity.Tuteur;
 import com.gestionstages.model.enums.EtatAvancementEnum;
 import com.gestionstages.model.enums.StatutCandidatureEnum;
 import com.gestionstages.model.enums.StatutConventionEnum;
 import com.gestionstages.model.enums.StatutOffreEnum;
 import com.gestionstages.repository.*;
 import com.gestionstages.service.DashboardService;
+import com.gestionstages.service.RankingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for administration dashboard statistics.
+ * Statistics are read from in-memory counters maintained by status transition events;
+ * the database is only queried to (re)initialize and reconcile them.
  */
 @Service
 public class DashboardServiceImpl implements DashboardService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
     @Autowired
     private OffreStageRepository offreStageRepository;
 
@@ -40,128 +44,128 @@ public class DashboardServiceImpl implements DashboardService {
     private SuiviStageRepository suiviStageRepository;
 
     @Autowired
-    private EntrepriseRepository entrepriseRepository;
+    private RankingService rankingService;
 
     @Autowired
-    private TuteurRepository tuteurRepository;
+    private DashboardCounters dashboardCounters;
 
     @Override
     @Transactional(readOnly = true)
     public DashboardStatsResponse getDashboardStats() {
+        if (!dashboardCounters.isInitialise()) {
+            reconcilierCompteurs();
+        } else if (!dashboardCounters.isActifsAJour()) {
+            long[] actifs = countActifs();
+            dashboardCounters.setActifs(actifs[0], actifs[1]);
+        }
+
         DashboardStatsResponse stats = new DashboardStatsResponse();
 
         // Offres statistics
-        List<OffreStage> allOffres = offreStageRepository.findAll();
-        stats.setTotalOffres((long) allOffres.size());
-        stats.setOffresEnAttente((long) offreStageRepository.findByStatut(StatutOffreEnum.EN_ATTENTE).size());
-        stats.setOffresValidees((long) offreStageRepository.findByStatut(StatutOffreEnum.VALIDEE).size());
-        LocalDate now = LocalDate.now();
-        stats.setOffresExpirees((long) allOffres.stream()
-                .filter(o -> o.getDateExpiration() != null && o.getDateExpiration().isBefore(now))
-                .count());
+        Map<String, Long> distributionOffres = toDistribution(StatutOffreEnum.values());
+        stats.setTotalOffres(sum(distributionOffres));
+        stats.setOffresEnAttente(dashboardCounters.get(StatutOffreEnum.EN_ATTENTE));
+        stats.setOffresValidees(dashboardCounters.get(StatutOffreEnum.VALIDEE));
+        stats.setOffresExpirees(dashboardCounters.getOffresExpirees());
+        stats.setDistributionOffres(distributionOffres);
 
         // Candidatures statistics
-        List<com.gestionstages.model.entity.Candidature> allCandidatures = candidatureRepository.findAll();
-        stats.setTotalCandidatures((long) allCandidatures.size());
-        stats.setCandidaturesEnAttente((long) candidatureRepository.findByStatut(StatutCandidatureEnum.EN_ATTENTE).size());
-        stats.setCandidaturesAcceptees((long) candidatureRepository.findByStatut(StatutCandidatureEnum.ACCEPTEE).size());
-        stats.setCandidaturesRefusees((long) candidatureRepository.findByStatut(StatutCandidatureEnum.REFUSEE).size());
+        Map<String, Long> distributionCandidatures = toDistribution(StatutCandidatureEnum.values());
+        stats.setTotalCandidatures(sum(distributionCandidatures));
+        stats.setCandidaturesEnAttente(dashboardCounters.get(StatutCandidatureEnum.EN_ATTENTE));
+        stats.setCandidaturesAcceptees(dashboardCounters.get(StatutCandidatureEnum.ACCEPTEE));
+        stats.setCandidaturesRefusees(dashboardCounters.get(StatutCandidatureEnum.REFUSEE));
+        stats.setDistributionCandidatures(distributionCandidatures);
 
         // Conventions statistics
-        List<com.gestionstages.model.entity.Convention> allConventions = conventionRepository.findAll();
-        stats.setTotalConventions((long) allConventions.size());
-        stats.setConventionsBrouillon((long) conventionRepository.findByStatut(StatutConventionEnum.BROUILLON).size());
-        stats.setConventionsEnAttenteSignatures((long) conventionRepository.findByStatut(StatutConventionEnum.EN_ATTENTE_SIGNATURES).size());
-        stats.setConventionsSignees((long) conventionRepository.findByStatut(StatutConventionEnum.SIGNEE).size());
-        stats.setConventionsArchivees((long) conventionRepository.findByStatut(StatutConventionEnum.ARCHIVEE).size());
+        Map<String, Long> distributionConventions = toDistribution(StatutConventionEnum.values());
+        stats.setTotalConventions(sum(distributionConventions));
+        stats.setConventionsBrouillon(dashboardCounters.get(StatutConventionEnum.BROUILLON));
+        stats.setConventionsEnAttenteSignatures(dashboardCounters.get(StatutConventionEnum.EN_ATTENTE_SIGNATURES));
+        stats.setConventionsSignees(dashboardCounters.get(StatutConventionEnum.SIGNEE));
+        stats.setConventionsArchivees(dashboardCounters.get(StatutConventionEnum.ARCHIVEE));
+        stats.setDistributionConventions(distributionConventions);
 
         // Suivi statistics
-        List<SuiviStage> allSuivis = suiviStageRepository.findAll();
-        stats.setTotalSuivis((long) allSuivis.size());
-        stats.setStagesNonCommence((long) suiviStageRepository.findByEtatAvancement(EtatAvancementEnum.NON_COMMENCE).size());
-        stats.setStagesEnCours((long) suiviStageRepository.findByEtatAvancement(EtatAvancementEnum.EN_COURS).size());
-        stats.setStagesTermine((long) suiviStageRepository.findByEtatAvancement(EtatAvancementEnum.TERMINE).size());
-
-        // Active students in internship (non-terminated)
-        stats.setEtudiantsEnStage((long) allSuivis.stream()
-                .filter(s -> s.getEtatAvancement() != EtatAvancementEnum.TERMINE)
-                .map(s -> s.getConvention().getCandidature().getEtudiant().getId())
-                .distinct()
-                .count());
-
-        // Active tutors (tutors with at least one active student)
-        stats.setTuteursActifs((long) allSuivis.stream()
-                .filter(s -> s.getEtatAvancement() != EtatAvancementEnum.TERMINE)
-                .map(s -> s.getTuteur().getId())
-                .distinct()
-                .count());
-
-        // Top entreprises (by number of offers)
-        List<Entreprise> allEntreprises = entrepriseRepository.findAll();
-        List<DashboardStatsResponse.TopEntreprise> topEntreprises = allEntreprises.stream()
-                .map(entreprise -> {
-                    long nbOffres = offreStageRepository.findByEntreprise(entreprise).size();
-                    return new DashboardStatsResponse.TopEntreprise(
-                            entreprise.getId(),
-                            entreprise.getNomEntreprise(),
-                            nbOffres
-                    );
-                })
-                .filter(te -> te.getNombreOffres() > 0)
-                .sorted((a, b) -> Long.compare(b.getNombreOffres(), a.getNombreOffres()))
-                .limit(10)
-                .collect(Collectors.toList());
-        stats.setTopEntreprises(topEntreprises);
-
-        // Top tuteurs (by number of active students)
-        List<Tuteur> allTuteurs = tuteurRepository.findAll();
-        List<DashboardStatsResponse.TopTuteur> topTuteurs = allTuteurs.stream()
-                .map(tuteur -> {
-                    long nbEtudiants = suiviStageRepository.findByTuteur(tuteur).stream()
-                            .filter(s -> s.getEtatAvancement() != EtatAvancementEnum.TERMINE)
-                            .count();
-                    return new DashboardStatsResponse.TopTuteur(
-                            tuteur.getId(),
-                            tuteur.getNom(),
-                            tuteur.getPrenom(),
-                            nbEtudiants
-                    );
-                })
-                .filter(tt -> tt.getNombreEtudiants() > 0)
-                .sorted((a, b) -> Long.compare(b.getNombreEtudiants(), a.getNombreEtudiants()))
-                .limit(10)
-                .collect(Collectors.toList());
-        stats.setTopTuteurs(topTuteurs);
-
-        // Distribution by status - Offres
-        Map<String, Long> distributionOffres = new HashMap<>();
-        for (StatutOffreEnum statut : StatutOffreEnum.values()) {
-            distributionOffres.put(statut.name(), (long) offreStageRepository.findByStatut(statut).size());
+        Map<String, Long> distributionAvancement = toDistribution(EtatAvancementEnum.values());
+        stats.setTotalSuivis(sum(distributionAvancement));
+        stats.setStagesNonCommence(dashboardCounters.get(EtatAvancementEnum.NON_COMMENCE));
+        stats.setStagesEnCours(dashboardCounters.get(EtatAvancementEnum.EN_COURS));
+        stats.setStagesTermine(dashboardCounters.get(EtatAvancementEnum.TERMINE));
+        stats.setDistributionAvancement(distributionAvancement);
+
+        // Active students in internship and active tutors (non-terminated suivis)
+        stats.setEtudiantsEnStage(dashboardCounters.getEtudiantsEnStage());
+        stats.setTuteursActifs(dashboardCounters.getTuteursActifs());
+
+        // Rankings (aggregate queries, maintained incrementally)
+        stats.setTopEntreprises(rankingService.getTopEntreprises());
+        stats.setTopTuteurs(rankingService.getTopTuteurs());
+
+        return stats;
+    }
+
+    /**
+     * Re-derives every counter from the database (one GROUP BY query per entity)
+     * and logs the drift accumulated since the previous reconciliation.
+     * The rankings are discarded as well.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${dashboard.reconciliation.interval-ms:300000}",
+            initialDelayString = "${dashboard.reconciliation.initial-delay-ms:60000}")
+    @Transactional(readOnly = true)
+    public void reconcilierCompteurs() {
+        Map<Enum<?>, Long> compteurs = new HashMap<>();
+
+        long offresExpirees = 0;
+        for (Object[] row : offreStageRepository.countByStatutWithExpirees(LocalDate.now())) {
+            compteurs.put((Enum<?>) row[0], toLong(row[1]));
+            offresExpirees += toLong(row[2]);
         }
-        stats.setDistributionOffres(distributionOffres);
+        putCounts(compteurs, candidatureRepository.countGroupByStatut());
+        putCounts(compteurs, conventionRepository.countGroupByStatut());
+        putCounts(compteurs, suiviStageRepository.countGroupByEtatAvancement());
+        long[] actifs = countActifs();
+
+        Map<String, Long> drift = dashboardCounters.reconcilier(
+                new DashboardCounters.Snapshot(compteurs, offresExpirees, actifs[0], actifs[1]));
+        if (!drift.isEmpty()) {
+            logger.warn("Dashboard counters drift corrected (counter - database): {}", drift);
+        }
+        // Rankings are not diffed: they are simply re-seeded on the next read
+        rankingService.invalider();
+    }
 
-        // Distribution by status - Candidatures
-        Map<String, Long> distributionCandidatures = new HashMap<>();
-        for (StatutCandidatureEnum statut : StatutCandidatureEnum.values()) {
-            distributionCandidatures.put(statut.name(), (long) candidatureRepository.findByStatut(statut).size());
+    private long[] countActifs() {
+        List<Object[]> actifs = suiviStageRepository.countActiveEtudiantsAndTuteurs();
+        if (actifs.isEmpty()) {
+            return new long[]{0L, 0L};
         }
-        stats.setDistributionCandidatures(distributionCandidatures);
+        return new long[]{toLong(actifs.get(0)[0]), toLong(actifs.get(0)[1])};
+    }
 
-        // Distribution by status - Conventions
-        Map<String, Long> distributionConventions = new HashMap<>();
-        for (StatutConventionEnum statut : StatutConventionEnum.values()) {
-            distributionConventions.put(statut.name(), (long) conventionRepository.findByStatut(statut).size());
+    private void putCounts(Map<Enum<?>, Long> compteurs, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            compteurs.put((Enum<?>) row[0], toLong(row[1]));
         }
-        stats.setDistributionConventions(distributionConventions);
+    }
 
-        // Distribution by status - Avancement
-        Map<String, Long> distributionAvancement = new HashMap<>();
-        for (EtatAvancementEnum etat : EtatAvancementEnum.values()) {
-            distributionAvancement.put(etat.name(), (long) suiviStageRepository.findByEtatAvancement(etat).size());
+    /**
+     * Builds a distribution map from the counters, with every enum value present.
+     */
+    private Map<String, Long> toDistribution(Enum<?>[] values) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            distribution.put(value.name(), dashboardCounters.get(value));
         }
-        stats.setDistributionAvancement(distributionAvancement);
+        return distribution;
+    }
 
-        return stats;
+    private long sum(Map<String, Long> distribution) {
+        return distribution.values().stream().mapToLong(Long::longValue).sum();
     }
-}
 
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
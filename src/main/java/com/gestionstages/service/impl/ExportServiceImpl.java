@@ -0,0 +1,173 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.model.dto.response.CandidatureResponse;
+import com.gestionstages.model.dto.response.ConventionResponse;
+import com.gestionstages.model.enums.FormatExportEnum;
+import com.gestionstages.repository.CandidatureRepository;
+import com.gestionstages.repository.ConventionRepository;
+import com.gestionstages.service.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for full data exports.
+ * The repositories return DTO projections as a {@link Stream} backed by a forward-only cursor:
+ * no entity is attached to the persistence context and each row is written, then dropped.
+ * CSV text values starting with a formula character are prefixed with a quote, so that
+ * user-entered content (names, titles, motivation letters) is never evaluated by a spreadsheet.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    // Characters that make Excel / LibreOffice interpret a cell as a formula (CSV injection)
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private record Colonne<T>(String entete, Function<T, Object> valeur) {
+    }
+
+    private static final List<Colonne<CandidatureResponse>> COLONNES_CANDIDATURE = List.of(
+            new Colonne<>("id", CandidatureResponse::getId),
+            new Colonne<>("dateCandidature", CandidatureResponse::getDateCandidature),
+            new Colonne<>("statut", CandidatureResponse::getStatut),
+            new Colonne<>("etudiantId", CandidatureResponse::getEtudiantId),
+            new Colonne<>("etudiantNom", CandidatureResponse::getEtudiantNom),
+            new Colonne<>("etudiantPrenom", CandidatureResponse::getEtudiantPrenom),
+            new Colonne<>("etudiantEmail", CandidatureResponse::getEtudiantEmail),
+            new Colonne<>("etudiantNiveau", CandidatureResponse::getEtudiantNiveau),
+            new Colonne<>("etudiantFiliere", CandidatureResponse::getEtudiantFiliere),
+            new Colonne<>("offreId", CandidatureResponse::getOffreId),
+            new Colonne<>("offreTitre", CandidatureResponse::getOffreTitre),
+            new Colonne<>("offreTypeOffre", CandidatureResponse::getOffreTypeOffre),
+            new Colonne<>("entrepriseId", CandidatureResponse::getEntrepriseId),
+            new Colonne<>("entrepriseNom", CandidatureResponse::getEntrepriseNom),
+            new Colonne<>("commentaire", CandidatureResponse::getCommentaire),
+            new Colonne<>("lettreMotivation", CandidatureResponse::getLettreMotivation)
+    );
+
+    private static final List<Colonne<ConventionResponse>> COLONNES_CONVENTION = List.of(
+            new Colonne<>("id", ConventionResponse::getId),
+            new Colonne<>("dateGeneration", ConventionResponse::getDateGeneration),
+            new Colonne<>("dateDebutStage", ConventionResponse::getDateDebutStage),
+            new Colonne<>("dateFinStage", ConventionResponse::getDateFinStage),
+            new Colonne<>("statut", ConventionResponse::getStatut),
+            new Colonne<>("signatureEtudiant", ConventionResponse::getSignatureEtudiant),
+            new Colonne<>("signatureEntreprise", ConventionResponse::getSignatureEntreprise),
+            new Colonne<>("signatureAdministration", ConventionResponse::getSignatureAdministration),
+            new Colonne<>("candidatureId", ConventionResponse::getCandidatureId),
+            new Colonne<>("etudiantId", ConventionResponse::getEtudiantId),
+            new Colonne<>("etudiantNom", ConventionResponse::getEtudiantNom),
+            new Colonne<>("etudiantPrenom", ConventionResponse::getEtudiantPrenom),
+            new Colonne<>("etudiantEmail", ConventionResponse::getEtudiantEmail),
+            new Colonne<>("offreId", ConventionResponse::getOffreId),
+            new Colonne<>("offreTitre", ConventionResponse::getOffreTitre),
+            new Colonne<>("entrepriseId", ConventionResponse::getEntrepriseId),
+            new Colonne<>("entrepriseNom", ConventionResponse::getEntrepriseNom),
+            new Colonne<>("suiviStageId", ConventionResponse::getSuiviStageId)
+    );
+
+    @Autowired
+    private CandidatureRepository candidatureRepository;
+
+    @Autowired
+    private ConventionRepository conventionRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCandidatures(FormatExportEnum format, OutputStream out) throws IOException {
+        try (Stream<CandidatureResponse> rows = candidatureRepository.streamAllResponses()) {
+            long count = write(rows, COLONNES_CANDIDATURE, format, out);
+            logger.info("Exported {} candidatures as {}", count, format);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportConventions(FormatExportEnum format, OutputStream out) throws IOException {
+        try (Stream<ConventionResponse> rows = conventionRepository.streamAllResponses()) {
+            long count = write(rows, COLONNES_CONVENTION, format, out);
+            logger.info("Exported {} conventions as {}", count, format);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, List<Colonne<T>> colonnes, FormatExportEnum format,
+                           OutputStream out) throws IOException {
+        // Not closed: closing would close the response stream, which belongs to the container
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == FormatExportEnum.CSV) {
+            writeCsvLine(writer, colonnes.stream().map(c -> (Object) c.entete()).toList());
+        }
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == FormatExportEnum.CSV) {
+                writeCsvLine(writer, colonnes.stream().map(c -> c.valeur().apply(row)).toList());
+            } else {
+                writer.write(jsonMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes one RFC 4180 line: fields containing a separator, quote or line break are quoted.
+     */
+    private void writeCsvLine(Writer writer, List<Object> valeurs) throws IOException {
+        for (int i = 0; i < valeurs.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object valeur = valeurs.get(i);
+            if (valeur instanceof String texte) {
+                writer.write(escapeCsv(neutraliserFormule(texte)));
+            } else if (valeur != null) {
+                writer.write(escapeCsv(valeur.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Prefixes text starting with =, +, -, @, tab or carriage return with a quote, which spreadsheets
+     * display as text instead of evaluating it. Only applied to text: numbers and dates are not user input.
+     */
+    private String neutraliserFormule(String valeur) {
+        if (!valeur.isEmpty() && FORMULA_PREFIXES.indexOf(valeur.charAt(0)) >= 0) {
+            return "'" + valeur;
+        }
+        return valeur;
+    }
+
+    private String escapeCsv(String valeur) {
+        if (valeur.indexOf(',') < 0 && valeur.indexOf('"') < 0
+                && valeur.indexOf('\n') < 0 && valeur.indexOf('\r') < 0) {
+            return valeur;
+        }
+        return '"' + valeur.replace("\"", "\"\"") + '"';
+    }
+}
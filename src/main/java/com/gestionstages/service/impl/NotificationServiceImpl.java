@@ -1,5 +1,6 @@
 package com.gestionstages.service.impl;
 
+import com.gestionstages.mapper.NotificationMapper;
 import com.gestionstages.model.dto.response.NotificationResponse;
 import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.model.entity.Notification;
@@ -7,12 +8,10 @@ import com.gestionstages.model.entity.Utilisateur;
 import com.gestionstages.repository.NotificationRepository;
 import com.gestionstages.repository.UtilisateurRepository;
 import com.gestionstages.service.NotificationService;
-import org.modelmapper.ModelMapper;
+import com.gestionstages.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,32 +28,20 @@ public class NotificationServiceImpl implements NotificationService {
     private UtilisateurRepository utilisateurRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private NotificationMapper notificationMapper;
 
+    @Autowired
+    private NotificationWriter notificationWriter;
+
+    /**
+     * Creates a notification. Called by the outbox dispatcher (see OutboxService), which
+     * retries on failure. The recipient is not loaded: an unknown ID fails on the foreign key.
+     */
     @Override
-    @Async("taskExecutor")
     @Transactional
     public void creerNotification(Long utilisateurId, String message, String type, String lienAction) {
-        try {
-            Utilisateur utilisateur = utilisateurRepository.findById(utilisateurId)
-                    .orElse(null);
-            
-            if (utilisateur == null) {
-                return; // Silently fail if user not found
-            }
-            
-            Notification notification = new Notification();
-            notification.setUtilisateur(utilisateur);
-            notification.setMessage(message);
-            notification.setType(type);
-            notification.setLienAction(lienAction);
-            notification.setLu(false);
-            
-            notificationRepository.save(notification);
-        } catch (Exception e) {
-            // Log but don't throw - notifications are non-critical
-            System.err.println("Erreur lors de la création de la notification: " + e.getMessage());
-        }
+        notificationWriter.inserer(List.of(
+                new NotificationWriter.NouvelleNotification(utilisateurId, message, type, lienAction)));
     }
 
     @Override
@@ -75,22 +62,14 @@ public class NotificationServiceImpl implements NotificationService {
         Utilisateur utilisateur = utilisateurRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
         
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = Pagination.of(page, size);
         Page<Notification> pageResult = notificationRepository.findByUtilisateurOrderByDateCreationDesc(utilisateur, pageable);
         
         List<NotificationResponse> content = pageResult.getContent().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
         
-        return new PageResponse<>(
-                content,
-                pageResult.getNumber(),
-                pageResult.getSize(),
-                pageResult.getTotalElements(),
-                pageResult.getTotalPages(),
-                pageResult.isFirst(),
-                pageResult.isLast()
-        );
+        return Pagination.toPageResponse(pageResult, content);
     }
 
     @Override
@@ -131,6 +110,6 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     private NotificationResponse convertToResponse(Notification notification) {
-        return modelMapper.map(notification, NotificationResponse.class);
+        return notificationMapper.toResponse(notification);
     }
 }
@@ -0,0 +1,70 @@
+package com.gestionstages.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserts notifications with JDBC batches instead of one Hibernate persist per row.
+ * Notification IDs are IDENTITY-generated, which disables Hibernate's insert batching; a plain
+ * JDBC batch does not need the generated keys, and with rewriteBatchedStatements=true on the
+ * MySQL URL each batch is sent as a multi-row INSERT.
+ * Joins the caller's transaction when there is one.
+ */
+@Component
+public class NotificationWriter {
+
+    private static final String INSERT = "INSERT INTO notification " +
+            "(utilisateur_id, message, type, lu, lien_action, date_creation) VALUES (?, ?, ?, FALSE, ?, ?)";
+
+    /**
+     * A notification to insert. The recipient is referenced by ID only (no entity lookup):
+     * an unknown ID fails on the foreign key.
+     */
+    public record NouvelleNotification(Long utilisateurId, String message, String type, String lienAction) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * @param notifications The notifications to insert
+     * @return Number of rows inserted
+     */
+    public int inserer(List<NouvelleNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        Timestamp maintenant = Timestamp.valueOf(LocalDateTime.now());
+        int[][] resultats = jdbcTemplate.batchUpdate(INSERT, notifications, batchSize, (ps, notification) -> {
+            ps.setLong(1, notification.utilisateurId());
+            ps.setString(2, notification.message());
+            ps.setString(3, notification.type());
+            ps.setString(4, notification.lienAction());
+            ps.setTimestamp(5, maintenant);
+        });
+        // The driver may report SUCCESS_NO_INFO (-2) for rewritten batches
+        return notifications.size() - countFailures(resultats);
+    }
+
+    private int countFailures(int[][] resultats) {
+        int failures = 0;
+        for (int[] lot : resultats) {
+            for (int resultat : lot) {
+                if (resultat == Statement.EXECUTE_FAILED) {
+                    failures++;
+                }
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.repository.OffreStageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MySQL FULLTEXT indexes backing the public offer search.
+ * Hibernate's schema update cannot declare FULLTEXT indexes, so they are created at startup
+ * if missing. InnoDB maintains them transactionally on every insert/update, so offers are
+ * searchable as soon as they are created, validated or expired.
+ * When the indexes are unavailable (disabled, or not a MySQL database) the search falls back
+ * to the LIKE query. At startup the plan of the candidate lookup is checked with EXPLAIN and a
+ * warning is logged if MySQL does not use both FULLTEXT indexes.
+ */
+@Component
+public class OffreSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffreSearchIndex.class);
+
+    static final String INDEX_OFFRE = "ft_offre_recherche";
+    static final String INDEX_ENTREPRISE = "ft_entreprise_nom";
+
+    // Default innodb_ft_min_token_size: shorter words are not indexed
+    private static final int MIN_TERM_LENGTH = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${offres.search.fulltext.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean disponible = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            logger.info("Full-text offer search disabled, using LIKE search");
+            return;
+        }
+        try {
+            createIfMissing("offre_stage", INDEX_OFFRE, "titre, description, competences_requises");
+            createIfMissing("entreprise", INDEX_ENTREPRISE, "nom_entreprise");
+            disponible = true;
+            verifierPlan();
+        } catch (Exception e) {
+            logger.warn("Full-text indexes unavailable, falling back to LIKE search: {}", e.getMessage());
+        }
+    }
+
+    private void createIfMissing(String table, String index, String columns) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        if (count == null || count == 0) {
+            logger.info("Creating FULLTEXT index {} on {}({})", index, table, columns);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + index + " (" + columns + ")");
+        }
+    }
+
+    /**
+     * Logs a warning when the candidate lookup (see OffreStageRepository#FULLTEXT_CANDIDATS) does not
+     * show "fulltext" access on both tables.
+     */
+    private void verifierPlan() {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN " + OffreStageRepository.FULLTEXT_CANDIDATS.replace(":search", "?"), "+stage*", "+stage*");
+        long accesFulltext = plan.stream().filter(ligne -> "fulltext".equals(ligne.get("type"))).count();
+        if (accesFulltext < 2) {
+            logger.warn("Full-text offer search does not use both FULLTEXT indexes, plan: {}", plan);
+        } else {
+            logger.debug("Full-text offer search plan: {}", plan);
+        }
+    }
+
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    /**
+     * Converts free text into a boolean-mode query where every word is required and
+     * matched as a prefix (e.g. "dev java" becomes "+dev* +java*").
+     * Operator characters are stripped so user input cannot alter the query syntax.
+     *
+     * @param search The user search text
+     * @return The boolean-mode query, or null if no word is long enough to be indexed
+     */
+    public String toBooleanQuery(String search) {
+        if (search == null) {
+            return null;
+        }
+        List<String> termes = new ArrayList<>();
+        for (String mot : search.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_]+")) {
+            if (mot.length() >= MIN_TERM_LENGTH) {
+                termes.add("+" + mot + "*");
+            }
+        }
+        return termes.isEmpty() ? null : String.join(" ", termes);
+    }
+}
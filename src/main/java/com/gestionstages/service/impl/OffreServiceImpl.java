@@ -1,33 +1,56 @@
 package com.gestionstages.service.impl;
 
+import com.gestionstages.event.OffresEntrepriseModifieesEvent;
+import com.gestionstages.event.StatutTransitionEvent;
+import com.gestionstages.event.SuivisTuteurModifiesEvent;
 import com.gestionstages.exception.BadRequestException;
 import com.gestionstages.exception.ResourceNotFoundException;
 import com.gestionstages.exception.UnauthorizedException;
+import com.gestionstages.mapper.OffreMapper;
 import com.gestionstages.model.dto.request.OffreFilterRequest;
 import com.gestionstages.model.dto.request.OffreRequest;
 import com.gestionstages.model.dto.response.OffreResponse;
 import com.gestionstages.model.dto.response.PageResponse;
+import com.gestionstages.model.entity.Candidature;
 import com.gestionstages.model.entity.Entreprise;
 import com.gestionstages.model.entity.OffreStage;
+import com.gestionstages.model.entity.SuiviStage;
+import com.gestionstages.model.entity.Tuteur;
 import com.gestionstages.model.enums.StatutOffreEnum;
 import com.gestionstages.model.enums.TypeOffreEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
+import com.gestionstages.repository.CandidatureRepository;
 import com.gestionstages.repository.EntrepriseRepository;
 import com.gestionstages.repository.OffreStageRepository;
-import com.gestionstages.service.EmailService;
-import com.gestionstages.service.NotificationService;
 import com.gestionstages.service.OffreService;
-import org.modelmapper.ModelMapper;
+import com.gestionstages.service.OutboxService;
+import com.gestionstages.util.KeysetCursor;
+import com.gestionstages.util.Pagination;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +60,13 @@ import java.util.stream.Collectors;
 @Service
 public class OffreServiceImpl implements OffreService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OffreServiceImpl.class);
+
+    private static final String SORT_PERTINENCE = "pertinence";
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "datePublication")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     @Autowired
     private OffreStageRepository offreStageRepository;
 
@@ -44,23 +74,60 @@ public class OffreServiceImpl implements OffreService {
     private EntrepriseRepository entrepriseRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CandidatureRepository candidatureRepository;
+
+    @Autowired
+    private OffreMapper offreMapper;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OffreSearchIndex offreSearchIndex;
+
+    @Autowired
+    private NotificationWriter notificationWriter;
 
     @Autowired
-    private EmailService emailService;
+    private TransactionTemplate transactionTemplate;
 
     @Autowired
-    private NotificationService notificationService;
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OffresPubliquesCache offresPubliquesCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${offres.expiration.chunk-size:500}")
+    private int expirationChunkSize;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     /**
      * Retrieves public offers with pagination and filters.
+     * Pages are served from OffresPubliquesCache; the database is only read on a miss.
      * 
      * @param filter Filter and pagination parameters
      * @return Paginated response with filtered offers
      */
     @Override
-    @Transactional(readOnly = true)
     public PageResponse<OffreResponse> getOffresPubliques(OffreFilterRequest filter) {
+        return offresPubliquesCache.get(OffresPubliquesCache.Key.of(filter),
+                () -> readOnlyTransactionTemplate.execute(status -> loadOffresPubliques(filter)));
+    }
+
+    private PageResponse<OffreResponse> loadOffresPubliques(OffreFilterRequest filter) {
         // Prepare filter parameters
         String search = (filter.getSearch() != null && !filter.getSearch().trim().isEmpty()) 
                 ? filter.getSearch().trim() : null;
@@ -73,39 +140,80 @@ public class OffreServiceImpl implements OffreService {
             }
         }
         
-        // Prepare sorting
-        Sort sort = Sort.by(Sort.Direction.DESC, "datePublication"); // Default sort
-        if (filter.getSortBy() != null && !filter.getSortBy().trim().isEmpty()) {
-            Sort.Direction direction = "ASC".equalsIgnoreCase(filter.getSortDirection()) 
-                    ? Sort.Direction.ASC : Sort.Direction.DESC;
-            sort = Sort.by(direction, filter.getSortBy());
-        }
-        
         // Prepare pagination
-        int page = filter.getPage() != null && filter.getPage() >= 0 ? filter.getPage() : 0;
-        int size = filter.getSize() != null && filter.getSize() > 0 && filter.getSize() <= 100 
-                ? filter.getSize() : 10;
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        // Query with filters
-        Page<OffreStage> pageResult = offreStageRepository.findFilteredOffres(
-                search, typeOffre, filter.getDateDebutMin(), filter.getDateDebutMax(), pageable
-        );
+        int page = Pagination.page(filter.getPage());
+        int size = Pagination.size(filter.getSize());
+        boolean sortBySpecified = filter.getSortBy() != null && !filter.getSortBy().trim().isEmpty();
+        Sort.Direction direction = "ASC".equalsIgnoreCase(filter.getSortDirection())
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        String booleanQuery = search != null && offreSearchIndex.isDisponible()
+                ? offreSearchIndex.toBooleanQuery(search) : null;
+
+        // Cursor (keyset) mode: newest first, seek past the cursor, no COUNT and no OFFSET
+        if (filter.getCursor() != null) {
+            return getOffresPubliquesApres(filter, search, booleanQuery, typeOffre, size);
+        }
+
+        // Full-text search path (MySQL FULLTEXT), ranked by relevance unless another sort is requested
+        Page<OffreStage> pageResult;
+        if (booleanQuery != null) {
+            String type = typeOffre != null ? typeOffre.name() : null;
+            if (!sortBySpecified || SORT_PERTINENCE.equalsIgnoreCase(filter.getSortBy())) {
+                pageResult = offreStageRepository.searchOffresParPertinence(booleanQuery, type,
+                        filter.getDateDebutMin(), filter.getDateDebutMax(), PageRequest.of(page, size));
+            } else {
+                Sort sort = Sort.by(direction, toColumnName(filter.getSortBy())).and(Sort.by(Sort.Direction.DESC, "id"));
+                pageResult = offreStageRepository.searchOffres(booleanQuery, type,
+                        filter.getDateDebutMin(), filter.getDateDebutMax(), PageRequest.of(page, size, sort));
+            }
+        } else {
+            // Prepare sorting
+            Sort sort = Sort.by(Sort.Direction.DESC, "datePublication"); // Default sort
+            if (sortBySpecified && !SORT_PERTINENCE.equalsIgnoreCase(filter.getSortBy())) {
+                sort = Sort.by(direction, filter.getSortBy());
+            }
+
+            // Query with filters
+            pageResult = offreStageRepository.findFilteredOffres(
+                    search, typeOffre, filter.getDateDebutMin(), filter.getDateDebutMax(), PageRequest.of(page, size, sort)
+            );
+        }
         
         // Convert to response
-        List<OffreResponse> content = pageResult.getContent().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(
-                content,
-                pageResult.getNumber(),
-                pageResult.getSize(),
-                pageResult.getTotalElements(),
-                pageResult.getTotalPages(),
-                pageResult.isFirst(),
-                pageResult.isLast()
-        );
+        return Pagination.toPageResponse(pageResult, convertToResponses(pageResult.getContent()));
+    }
+
+    /**
+     * Cursor mode of getOffresPubliques: fetches one extra row to know whether a next page exists.
+     * Ordering is fixed to (datePublication, id) descending, the key encoded in the cursor.
+     */
+    private PageResponse<OffreResponse> getOffresPubliquesApres(OffreFilterRequest filter, String search,
+                                                                String booleanQuery, TypeOffreEnum typeOffre, int size) {
+        KeysetCursor cursor = filter.getCursor().isBlank() ? null : KeysetCursor.decode(filter.getCursor().trim());
+        LocalDateTime apresDate = cursor != null ? cursor.datePublication() : null;
+        Long apresId = cursor != null ? cursor.id() : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<OffreStage> offres = booleanQuery != null
+                ? offreStageRepository.searchOffresApres(booleanQuery, typeOffre != null ? typeOffre.name() : null,
+                        filter.getDateDebutMin(), filter.getDateDebutMax(), apresDate, apresId, limit)
+                : offreStageRepository.findFilteredOffresApres(search, typeOffre,
+                        filter.getDateDebutMin(), filter.getDateDebutMax(), apresDate, apresId, limit);
+
+        boolean hasNext = offres.size() > size;
+        if (hasNext) {
+            offres = offres.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            OffreStage derniere = offres.get(offres.size() - 1);
+            nextCursor = new KeysetCursor(derniere.getDatePublication(), derniere.getId()).encode();
+        }
+
+        List<OffreResponse> content = convertToResponses(offres);
+
+        return new PageResponse<>(content, 0, size, -1, -1, cursor == null, !hasNext, nextCursor);
     }
 
     /**
@@ -123,11 +231,10 @@ public class OffreServiceImpl implements OffreService {
         LocalDate now = LocalDate.now();
         
         // Additional filtering to ensure offers are not expired
-        return offres.stream()
+        return convertToResponses(offres.stream()
                 .filter(o -> o.getStatut() == StatutOffreEnum.VALIDEE && 
                             (o.getDateExpiration() == null || o.getDateExpiration().isAfter(now)))
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -206,6 +313,8 @@ public class OffreServiceImpl implements OffreService {
         offre.setStatut(StatutOffreEnum.EN_ATTENTE); // RG02: Offer pending validation
 
         OffreStage savedOffre = offreStageRepository.save(offre);
+        eventPublisher.publishEvent(new OffresEntrepriseModifieesEvent(entreprise.getId(), entreprise.getNomEntreprise()));
+        eventPublisher.publishEvent(StatutTransitionEvent.creation(StatutOffreEnum.EN_ATTENTE));
         return convertToResponse(savedOffre);
     }
 
@@ -264,6 +373,7 @@ public class OffreServiceImpl implements OffreService {
         offre.setDateExpiration(request.getDateExpiration());
 
         OffreStage updatedOffre = offreStageRepository.save(offre);
+        offresPubliquesCache.invalidateAfterCommit();
         return convertToResponse(updatedOffre);
     }
 
@@ -286,7 +396,32 @@ public class OffreServiceImpl implements OffreService {
             throw new UnauthorizedException("Vous n'êtes pas autorisé à supprimer cette offre");
         }
 
+        // Candidatures (and their convention and suivi) are removed in cascade
+        eventPublisher.publishEvent(StatutTransitionEvent.suppression(offre.getStatut()));
+        Map<Long, Tuteur> tuteurs = new HashMap<>();
+        if (offre.getCandidatures() != null) {
+            for (Candidature candidature : offre.getCandidatures()) {
+                eventPublisher.publishEvent(StatutTransitionEvent.suppression(candidature.getStatut()));
+                if (candidature.getConvention() != null) {
+                    eventPublisher.publishEvent(StatutTransitionEvent.suppression(candidature.getConvention().getStatut()));
+                    SuiviStage suivi = candidature.getConvention().getSuiviStage();
+                    if (suivi != null) {
+                        eventPublisher.publishEvent(StatutTransitionEvent.suppression(suivi.getEtatAvancement()));
+                        tuteurs.putIfAbsent(suivi.getTuteur().getId(), suivi.getTuteur());
+                    }
+                }
+            }
+        }
+
         offreStageRepository.delete(offre);
+        Entreprise entreprise = offre.getEntreprise();
+        eventPublisher.publishEvent(new OffresEntrepriseModifieesEvent(entreprise.getId(), entreprise.getNomEntreprise()));
+        // The tutors of the deleted suivis lose an active student in the ranking
+        for (Tuteur tuteur : tuteurs.values()) {
+            eventPublisher.publishEvent(new SuivisTuteurModifiesEvent(
+                    tuteur.getId(), tuteur.getNom(), tuteur.getPrenom(), tuteur.getEmail()));
+        }
+        offresPubliquesCache.invalidateAfterCommit();
     }
 
     /**
@@ -310,10 +445,12 @@ public class OffreServiceImpl implements OffreService {
 
         offre.setStatut(StatutOffreEnum.VALIDEE);
         OffreStage updatedOffre = offreStageRepository.save(offre);
+        eventPublisher.publishEvent(StatutTransitionEvent.transition(StatutOffreEnum.EN_ATTENTE, StatutOffreEnum.VALIDEE));
+        offresPubliquesCache.invalidateAfterCommit();
         
-        // Send email and notification asynchronously (non-blocking)
-        emailService.sendOffreValidee(updatedOffre);
-        notificationService.creerNotification(
+        // Email and notification recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_OFFRE_VALIDEE, updatedOffre.getId(), Map.of());
+        outboxService.publierNotification(
                 updatedOffre.getEntreprise().getId(),
                 "Votre offre '" + updatedOffre.getTitre() + "' a été validée et est maintenant visible.",
                 "OFFRE",
@@ -336,9 +473,18 @@ public class OffreServiceImpl implements OffreService {
                 .orElseThrow(() -> new ResourceNotFoundException("Entreprise non trouvée avec l'email: " + emailEntreprise));
 
         List<OffreStage> offres = offreStageRepository.findByEntreprise(entreprise);
-        return offres.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(offres);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<OffreResponse> getOffresByEntreprise(String emailEntreprise, int page, int size) {
+        Entreprise entreprise = entrepriseRepository.findByEmail(emailEntreprise)
+                .orElseThrow(() -> new ResourceNotFoundException("Entreprise non trouvée avec l'email: " + emailEntreprise));
+
+        Page<OffreStage> pageResult = offreStageRepository.findByEntreprise(entreprise,
+                Pagination.of(page, size, NEWEST_FIRST));
+        return Pagination.toPageResponse(pageResult, convertToResponses(pageResult.getContent()));
     }
 
     /**
@@ -351,9 +497,14 @@ public class OffreServiceImpl implements OffreService {
     @Transactional(readOnly = true)
     public List<OffreResponse> getAllOffres() {
         List<OffreStage> offres = offreStageRepository.findAll();
-        return offres.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(offres);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<OffreResponse> getAllOffres(int page, int size) {
+        Page<OffreStage> pageResult = offreStageRepository.findAll(Pagination.of(page, size, NEWEST_FIRST));
+        return Pagination.toPageResponse(pageResult, convertToResponses(pageResult.getContent()));
     }
 
     /**
@@ -377,11 +528,23 @@ public class OffreServiceImpl implements OffreService {
         
         // Filter to keep only validated and non-expired offers
         LocalDate now = LocalDate.now();
-        return offres.stream()
+        return convertToResponses(offres.stream()
                 .filter(o -> o.getStatut() == StatutOffreEnum.VALIDEE && 
                            (o.getDateExpiration() == null || o.getDateExpiration().isAfter(now)))
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Maps a public sort field to its offre_stage column for the native full-text queries.
+     * Unknown fields fall back to the publication date.
+     */
+    private String toColumnName(String sortBy) {
+        return switch (sortBy) {
+            case "dateDebut" -> "date_debut";
+            case "remuneration" -> "remuneration";
+            case "titre" -> "titre";
+            default -> "date_publication";
+        };
     }
 
     /**
@@ -392,54 +555,125 @@ public class OffreServiceImpl implements OffreService {
      * @return Offer response DTO
      */
     private OffreResponse convertToResponse(OffreStage offre) {
-        OffreResponse response = modelMapper.map(offre, OffreResponse.class);
-        response.setTypeOffre(offre.getTypeOffre().name());
-        response.setStatut(offre.getStatut().name());
-        
-        // Enterprise information
-        if (offre.getEntreprise() != null) {
-            response.setEntrepriseId(offre.getEntreprise().getId());
-            response.setNomEntreprise(offre.getEntreprise().getNomEntreprise());
-            response.setSecteurActivite(offre.getEntreprise().getSecteurActivite());
+        OffreResponse response = offreMapper.toResponse(offre);
+
+        // Number of applications (count query, the candidatures collection is never loaded)
+        response.setNombreCandidatures(offre.getId() != null ? candidatureRepository.countByOffreId(offre.getId()) : 0L);
+
+        return response;
+    }
+
+    /**
+     * Converts a list of offers, counting their applications with a single grouped query
+     * for the whole list instead of one collection load per offer.
+     *
+     * @param offres The offer entities
+     * @return Offer response DTOs, in the same order
+     */
+    private List<OffreResponse> convertToResponses(List<OffreStage> offres) {
+        if (offres.isEmpty()) {
+            return new ArrayList<>();
         }
-        
-        // Number of applications
-        if (offre.getCandidatures() != null) {
-            response.setNombreCandidatures((long) offre.getCandidatures().size());
-        } else {
-            response.setNombreCandidatures(0L);
+
+        List<Long> ids = offres.stream().map(OffreStage::getId).collect(Collectors.toList());
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : candidatureRepository.countGroupByOffreIds(ids)) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
         }
-        
-        // Convert remuneration from BigDecimal to Double
-        if (offre.getRemuneration() != null) {
-            response.setRemuneration(offre.getRemuneration().doubleValue());
+
+        List<OffreResponse> responses = new ArrayList<>(offres.size());
+        for (OffreStage offre : offres) {
+            OffreResponse response = offreMapper.toResponse(offre);
+            response.setNombreCandidatures(counts.getOrDefault(offre.getId(), 0L));
+            responses.add(response);
         }
-        
-        return response;
+        return responses;
     }
 
     /**
      * RG06: Marque automatiquement les offres expirées.
      * Une offre est considérée comme expirée si sa date d'expiration est passée.
      * Les offres expirées ne sont plus consultables publiquement.
+     *
+     * Set-based: the IDs to expire are selected and updated by chunks of
+     * {@code offres.expiration.chunk-size}, each chunk in its own short transaction so that
+     * a large backlog never holds row locks for long. Each chunk is locked before the update
+     * (FOR UPDATE SKIP LOCKED): with overlapping runs (scheduled and manual), every offer is
+     * expired, notified and reported by exactly one of them.
+     *
+     * @return IDs of the offers marked as expired by this run
      */
     @Override
-    @Transactional
-    public void marquerOffresExpirees() {
-        LocalDate now = LocalDate.now();
-        List<OffreStage> offresValidees = offreStageRepository.findByStatut(StatutOffreEnum.VALIDEE);
-        
-        int countExpired = 0;
-        for (OffreStage offre : offresValidees) {
-            if (offre.getDateExpiration() != null && offre.getDateExpiration().isBefore(now)) {
-                offre.setStatut(StatutOffreEnum.EXPIREE);
-                offreStageRepository.save(offre);
-                countExpired++;
+    public List<Long> marquerOffresExpirees() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDate today = LocalDate.now();
+        Pageable chunk = PageRequest.of(0, expirationChunkSize);
+        List<Long> expirees = new ArrayList<>();
+
+        List<Long> ids;
+        long apresId = 0;
+        do {
+            ids = offreStageRepository.findIdsOffresAExpirer(today, apresId, chunk);
+            if (ids.isEmpty()) {
+                break;
+            }
+            apresId = ids.get(ids.size() - 1);
+            List<Long> lot = ids;
+            List<Long> expireesLot = transactionTemplate.execute(status -> {
+                List<Long> verrouillees = offreStageRepository.verrouillerOffresAExpirer(lot, today);
+                if (verrouillees.isEmpty()) {
+                    return verrouillees;
+                }
+                int count = offreStageRepository.marquerExpirees(verrouillees);
+                eventPublisher.publishEvent(StatutTransitionEvent.transition(
+                        StatutOffreEnum.VALIDEE, StatutOffreEnum.EXPIREE, count));
+                int notifiees = notificationWriter.inserer(notificationsExpiration(verrouillees));
+                meterRegistry.counter("offres.expiration.notifications").increment(notifiees);
+                return verrouillees;
+            });
+            if (expireesLot != null) {
+                meterRegistry.counter("offres.expiration.lignes").increment(expireesLot.size());
+                expirees.addAll(expireesLot);
             }
+        } while (ids.size() == expirationChunkSize);
+
+        if (!expirees.isEmpty()) {
+            offresPubliquesCache.invalidateAfterCommit();
         }
-        
-        if (countExpired > 0) {
-            System.out.println("RG06: " + countExpired + " offre(s) marquée(s) comme expirée(s)");
+        sample.stop(meterRegistry.timer("offres.expiration.duree"));
+        if (!expirees.isEmpty()) {
+            logger.info("RG06: {} offre(s) marquée(s) comme expirée(s)", expirees.size());
+        }
+        return expirees;
+    }
+
+    /**
+     * Notifications of an expired chunk: one per entreprise offer and one per pending application,
+     * inserted with the chunk update (one JDBC batch).
+     *
+     * @param offreIds The offers expired by the current transaction only: offers expired by an
+     *                 overlapping run are already notified by that run
+     */
+    private List<NotificationWriter.NouvelleNotification> notificationsExpiration(List<Long> offreIds) {
+        List<NotificationWriter.NouvelleNotification> notifications = new ArrayList<>();
+        for (Object[] row : offreStageRepository.findEntrepriseEtTitreByIds(offreIds)) {
+            notifications.add(new NotificationWriter.NouvelleNotification((Long) row[0],
+                    "Votre offre '" + row[1] + "' a expiré et n'est plus visible.",
+                    "OFFRE", "/entreprise/offres"));
+        }
+        for (Object[] row : candidatureRepository.findEtudiantEtTitreEnAttenteByOffreIds(offreIds)) {
+            notifications.add(new NotificationWriter.NouvelleNotification((Long) row[0],
+                    "L'offre '" + row[1] + "' à laquelle vous avez postulé a expiré.",
+                    "CANDIDATURE", "/etudiant/candidatures"));
         }
+        return notifications;
+    }
+
+    /**
+     * RG06: Scheduled run of {@link #marquerOffresExpirees()}.
+     */
+    @Scheduled(cron = "${offres.expiration.cron:0 5 0 * * *}")
+    public void marquerOffresExpireesPlanifie() {
+        marquerOffresExpirees();
     }
 }
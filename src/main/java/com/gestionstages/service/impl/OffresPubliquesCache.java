@@ -0,0 +1,110 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.model.dto.request.OffreFilterRequest;
+import com.gestionstages.model.dto.response.OffreResponse;
+import com.gestionstages.model.dto.response.PageResponse;
+import com.gestionstages.util.Pagination;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of public offer pages (GET /api/offres/publiques), keyed on the
+ * normalized filter. Bounded and expiring; fully invalidated whenever the set of public
+ * offers changes (validation, update, deletion, expiry) or an application is created or
+ * deleted (the pages show each offer's application count).
+ *
+ * Concurrent misses on the same key are coalesced: only one request loads the page while
+ * the others wait for its result, so an invalidation does not trigger a query stampede.
+ * Hits, misses, loads and evictions are published as Micrometer cache metrics
+ * (cache="offres.publiques").
+ */
+@Component
+public class OffresPubliquesCache {
+
+    /**
+     * Normalized filter: equivalent requests share the same entry.
+     */
+    public record Key(String search, String typeOffre, LocalDate dateDebutMin, LocalDate dateDebutMax,
+                      String sortBy, String sortDirection, int page, int size, String cursor) {
+
+        public static Key of(OffreFilterRequest filter) {
+            return new Key(
+                    normalize(filter.getSearch()),
+                    normalize(filter.getTypeOffre()),
+                    filter.getDateDebutMin(),
+                    filter.getDateDebutMax(),
+                    filter.getSortBy() != null && !filter.getSortBy().isBlank() ? filter.getSortBy() : null,
+                    "ASC".equalsIgnoreCase(filter.getSortDirection()) ? "ASC" : "DESC",
+                    Pagination.page(filter.getPage()),
+                    Pagination.size(filter.getSize()),
+                    filter.getCursor() != null ? filter.getCursor().trim() : null
+            );
+        }
+
+        private static String normalize(String value) {
+            return value != null && !value.isBlank() ? value.trim().toLowerCase(Locale.ROOT) : null;
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${offres.publiques.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${offres.publiques.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Key, PageResponse<OffreResponse>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "offres.publiques");
+    }
+
+    /**
+     * Returns the cached page, loading it once on a miss.
+     */
+    public PageResponse<OffreResponse> get(Key key, Supplier<PageResponse<OffreResponse>> loader) {
+        return cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Invalidates every page once the current transaction commits (immediately if there is none),
+     * so that a concurrent reload cannot re-cache the state being replaced.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAll();
+                }
+            });
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
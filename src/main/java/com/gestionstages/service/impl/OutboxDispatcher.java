@@ -0,0 +1,351 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.exception.ResourceNotFoundException;
+import com.gestionstages.model.entity.OutboxMessage;
+import com.gestionstages.model.enums.StatutOutboxEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
+import com.gestionstages.repository.CandidatureRepository;
+import com.gestionstages.repository.ConventionRepository;
+import com.gestionstages.repository.OffreStageRepository;
+import com.gestionstages.repository.OutboxMessageRepository;
+import com.gestionstages.repository.SuiviStageRepository;
+import com.gestionstages.service.EmailService;
+import com.gestionstages.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the outbox messages: triggered after each commit that records messages, and polled
+ * periodically for retries and for messages left behind by a restart. Delivery always runs on the
+ * email executor, never on the scheduler thread shared with the other cron jobs.
+ *
+ * Due messages are claimed in batches with SELECT ... FOR UPDATE SKIP LOCKED and leased
+ * (their next attempt is pushed back), so up to outbox.workers loops per instance, and several
+ * instances, dispatch concurrently without claiming the same message.
+ * An email is loaded in a short read-only transaction, sent with no transaction (nor database
+ * connection) held during the SMTP exchange, then marked as sent in a second short transaction:
+ * delivery is at least once. Failures are retried with exponential backoff, up to outbox.max-tentatives.
+ * The notifications of a batch are inserted together with one JDBC batch (NotificationWriter),
+ * falling back to one transaction per message if the batch fails.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    static final String PARAM_MESSAGE = "message";
+    static final String PARAM_TYPE = "type";
+    static final String PARAM_LIEN_ACTION = "lienAction";
+
+    private static final TypeReference<Map<String, String>> PARAMETRES = new TypeReference<>() {
+    };
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private CandidatureRepository candidatureRepository;
+
+    @Autowired
+    private ConventionRepository conventionRepository;
+
+    @Autowired
+    private SuiviStageRepository suiviStageRepository;
+
+    @Autowired
+    private OffreStageRepository offreStageRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationWriter notificationWriter;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("emailExecutor")
+    private Executor emailExecutor;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.max-tentatives:8}")
+    private int maxTentatives;
+
+    @Value("${outbox.backoff.initial-seconds:30}")
+    private long backoffInitialSeconds;
+
+    @Value("${outbox.backoff.max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    // Concurrent dispatch loops per instance, at most async.email.core-size (the pool only grows
+    // beyond its core size once its queue is full)
+    @Value("${outbox.workers:4}")
+    private int workers;
+
+    // Running dispatch loops; a trigger arriving while all are busy makes one of them loop again
+    private final AtomicInteger boucles = new AtomicInteger();
+    private final AtomicBoolean relance = new AtomicBoolean();
+
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private Counter envoyes;
+    private Counter echecs;
+    private Counter abandons;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        envoyes = meterRegistry.counter("outbox.messages", "resultat", "envoye");
+        echecs = meterRegistry.counter("outbox.messages", "resultat", "echec");
+        abandons = meterRegistry.counter("outbox.messages", "resultat", "abandon");
+    }
+
+    /**
+     * Requests a dispatch without blocking the caller (called after commit): starts a dispatch loop
+     * on the email executor unless outbox.workers loops are already running.
+     */
+    public void declencher() {
+        relance.set(true);
+        if (boucles.incrementAndGet() > workers) {
+            // The running loops will see the flag and run once more
+            boucles.decrementAndGet();
+            return;
+        }
+        try {
+            emailExecutor.execute(this::dispatcher);
+        } catch (TaskRejectedException e) {
+            // The loop will not run: release its slot, the next poll retries
+            boucles.decrementAndGet();
+            logger.warn("Email pool saturated, outbox dispatch deferred to the next poll");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:10000}")
+    public void planifier() {
+        declencher();
+    }
+
+    private void dispatcher() {
+        try {
+            int traites;
+            do {
+                relance.set(false);
+                traites = dispatcherLot();
+            } while (traites == batchSize || relance.get());
+        } catch (Exception e) {
+            logger.error("Outbox dispatch failed, will retry at next poll", e);
+        } finally {
+            boucles.decrementAndGet();
+        }
+        // A trigger that arrived between the last check and the decrement found no free loop
+        if (relance.get()) {
+            declencher();
+        }
+    }
+
+    private int dispatcherLot() {
+        List<OutboxMessage> lot = transactionTemplate.execute(status -> {
+            LocalDateTime maintenant = LocalDateTime.now();
+            List<Long> ids = outboxMessageRepository.findIdsAEnvoyerForUpdate(maintenant, batchSize);
+            if (ids.isEmpty()) {
+                return List.<OutboxMessage>of();
+            }
+            outboxMessageRepository.reporter(ids, maintenant.plusSeconds(leaseSeconds));
+            return outboxMessageRepository.findAllById(ids);
+        });
+        List<OutboxMessage> notifications = lot.stream()
+                .filter(message -> message.getType() == TypeOutboxEnum.NOTIFICATION)
+                .toList();
+        boolean notificationsLivrees = !notifications.isEmpty() && livrerNotifications(notifications);
+        for (OutboxMessage message : lot) {
+            if (!notificationsLivrees || message.getType() != TypeOutboxEnum.NOTIFICATION) {
+                traiter(message);
+            }
+        }
+        return lot.size();
+    }
+
+    /**
+     * Inserts all the notifications of a batch and marks them as sent in one transaction.
+     *
+     * @return false if the batch failed (nothing was written)
+     */
+    private boolean livrerNotifications(List<OutboxMessage> messages) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationWriter.inserer(messages.stream().map(this::toNotification).toList());
+                outboxMessageRepository.marquerEnvoyes(
+                        messages.stream().map(OutboxMessage::getId).toList(), LocalDateTime.now());
+            });
+            envoyes.increment(messages.size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Batched delivery of {} notification(s) failed, delivering one by one: {}",
+                    messages.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private NotificationWriter.NouvelleNotification toNotification(OutboxMessage message) {
+        Map<String, String> parametres = parametres(message);
+        return new NotificationWriter.NouvelleNotification(message.getReferenceId(),
+                parametres.get(PARAM_MESSAGE), parametres.get(PARAM_TYPE), parametres.get(PARAM_LIEN_ACTION));
+    }
+
+    private Map<String, String> parametres(OutboxMessage message) {
+        return message.getPayload() != null ? jsonMapper.readValue(message.getPayload(), PARAMETRES) : Map.of();
+    }
+
+    private void traiter(OutboxMessage message) {
+        try {
+            if (message.getType() == TypeOutboxEnum.NOTIFICATION) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<String, String> parametres = parametres(message);
+                    notificationService.creerNotification(message.getReferenceId(), parametres.get(PARAM_MESSAGE),
+                            parametres.get(PARAM_TYPE), parametres.get(PARAM_LIEN_ACTION));
+                    marquerEnvoye(message);
+                });
+            } else {
+                Runnable email = readOnlyTransaction.execute(status -> preparerEmail(message));
+                email.run();
+                transactionTemplate.executeWithoutResult(status -> marquerEnvoye(message));
+            }
+            envoyes.increment();
+        } catch (Exception e) {
+            enregistrerEchec(message, e);
+        }
+    }
+
+    private void marquerEnvoye(OutboxMessage message) {
+        outboxMessageRepository.marquerEnvoyes(List.of(message.getId()), LocalDateTime.now());
+    }
+
+    /**
+     * Loads the entities an email shows, with their associations (fetch joins), so that it can be
+     * rendered and sent once the transaction is closed.
+     *
+     * @return the send, to run outside the transaction
+     */
+    private Runnable preparerEmail(OutboxMessage message) {
+        Long id = message.getReferenceId();
+        Map<String, String> parametres = parametres(message);
+        return switch (message.getType()) {
+            case EMAIL_CANDIDATURE_ACCEPTEE -> envoi(candidatureRepository.findForEmailById(id),
+                    message, emailService::sendCandidatureAcceptee);
+            case EMAIL_CANDIDATURE_REFUSEE -> envoi(candidatureRepository.findForEmailById(id), message,
+                    candidature -> emailService.sendCandidatureRefusee(candidature, parametres.get("commentaire")));
+            case EMAIL_CONVENTION_CREEE -> envoi(conventionRepository.findForPdfById(id),
+                    message, emailService::sendConventionCreee);
+            case EMAIL_CONVENTION_SIGNEE -> envoi(conventionRepository.findForPdfById(id), message,
+                    convention -> emailService.sendConventionSignee(convention, parametres.get("signataire")));
+            case EMAIL_CONVENTION_COMPLETE -> envoi(conventionRepository.findForPdfById(id),
+                    message, emailService::sendConventionComplete);
+            case EMAIL_TUTEUR_ASSIGNE -> envoi(suiviStageRepository.findForEmailById(id),
+                    message, emailService::sendTuteurAssigne);
+            case EMAIL_OFFRE_VALIDEE -> envoi(offreStageRepository.findForEmailById(id),
+                    message, emailService::sendOffreValidee);
+            case EMAIL_OFFRE_REFUSEE -> envoi(offreStageRepository.findForEmailById(id), message,
+                    offre -> emailService.sendOffreRefusee(offre, parametres.get("raison")));
+            case NOTIFICATION -> throw new IllegalStateException("Outbox message " + message.getId() + " is not an email");
+        };
+    }
+
+    private <T> Runnable envoi(Optional<T> reference, OutboxMessage message, Consumer<T> envoi) {
+        T entite = reference.orElseThrow(() -> introuvable(message));
+        return () -> envoi.accept(entite);
+    }
+
+    private ResourceNotFoundException introuvable(OutboxMessage message) {
+        return new ResourceNotFoundException(message.getType() + ": référence introuvable (ID " + message.getReferenceId() + ")");
+    }
+
+    private void enregistrerEchec(OutboxMessage message, Exception e) {
+        int tentatives = message.getTentatives() + 1;
+        // A deleted reference (or unknown recipient) will not reappear: no retry
+        boolean definitif = e instanceof ResourceNotFoundException || e instanceof DataIntegrityViolationException
+                || tentatives >= maxTentatives;
+        message.setTentatives(tentatives);
+        message.setDerniereErreur(tronquer(e.getClass().getSimpleName() + ": " + e.getMessage()));
+        if (definitif) {
+            message.setStatut(StatutOutboxEnum.ECHEC);
+            message.setDateTraitement(LocalDateTime.now());
+            abandons.increment();
+            logger.error("Outbox message {} ({}) abandoned after {} attempt(s)", message.getId(), message.getType(), tentatives, e);
+        } else {
+            message.setProchainEssai(LocalDateTime.now().plusSeconds(backoff(tentatives)));
+            echecs.increment();
+            logger.warn("Outbox message {} ({}) failed, attempt {}/{}: {}",
+                    message.getId(), message.getType(), tentatives, maxTentatives, e.getMessage());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.save(message));
+        } catch (Exception saveError) {
+            // The lease expires and the message is retried anyway
+            logger.error("Could not record failure of outbox message {}", message.getId(), saveError);
+        }
+    }
+
+    /**
+     * Exponential backoff: initial delay doubled at each attempt, capped.
+     */
+    private long backoff(int tentatives) {
+        long delai = backoffInitialSeconds << Math.min(tentatives - 1, 20);
+        return Math.min(delai, backoffMaxSeconds);
+    }
+
+    private String tronquer(String texte) {
+        return texte.length() > 1000 ? texte.substring(0, 1000) : texte;
+    }
+
+    @Scheduled(cron = "${outbox.purge.cron:0 30 3 * * *}")
+    public void purgerMessagesEnvoyes() {
+        Integer supprimes = transactionTemplate.execute(status ->
+                outboxMessageRepository.deleteEnvoyesAvant(LocalDateTime.now().minusDays(retentionDays)));
+        if (supprimes != null && supprimes > 0) {
+            logger.info("Outbox: {} sent message(s) purged", supprimes);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.model.entity.OutboxMessage;
+import com.gestionstages.model.enums.StatutOutboxEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
+import com.gestionstages.repository.OutboxMessageRepository;
+import com.gestionstages.service.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service implementation for the transactional outbox.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publierEmail(TypeOutboxEnum type, Long referenceId, Map<String, String> parametres) {
+        if (type == TypeOutboxEnum.NOTIFICATION) {
+            throw new IllegalArgumentException("Utiliser publierNotification pour les notifications");
+        }
+        publier(type, referenceId, parametres);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publierNotification(Long utilisateurId, String message, String type, String lienAction) {
+        Map<String, String> parametres = new HashMap<>();
+        parametres.put(OutboxDispatcher.PARAM_MESSAGE, message);
+        parametres.put(OutboxDispatcher.PARAM_TYPE, type);
+        parametres.put(OutboxDispatcher.PARAM_LIEN_ACTION, lienAction);
+        publier(TypeOutboxEnum.NOTIFICATION, utilisateurId, parametres);
+    }
+
+    private void publier(TypeOutboxEnum type, Long referenceId, Map<String, String> parametres) {
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setReferenceId(referenceId);
+        message.setPayload(parametres == null || parametres.isEmpty() ? null : jsonMapper.writeValueAsString(parametres));
+        message.setStatut(StatutOutboxEnum.EN_ATTENTE);
+        message.setTentatives(0);
+        message.setProchainEssai(LocalDateTime.now());
+        outboxMessageRepository.save(message);
+
+        // Deliver right after commit instead of waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.declencher();
+            }
+        });
+    }
+}
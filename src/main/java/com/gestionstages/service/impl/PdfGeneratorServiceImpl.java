@@ -1,46 +1,102 @@
 package com.gestionstages.service.impl;
 
+import com.gestionstages.model.dto.response.PdfStockageStatsResponse;
+import com.gestionstages.model.entity.Candidature;
 import com.gestionstages.model.entity.Convention;
+import com.gestionstages.model.entity.Entreprise;
+import com.gestionstages.model.entity.Etudiant;
+import com.gestionstages.model.entity.OffreStage;
+import com.gestionstages.model.enums.ModeRenduPdfEnum;
 import com.gestionstages.service.PdfGeneratorService;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
-import com.itextpdf.layout.borders.SolidBorder;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Div;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.layout.properties.VerticalAlignment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for generating professional PDF documents from conventions.
+ * Styles, colors, formatters and the font program come from the shared {@link PdfRenderingContext};
+ * only the elements carrying convention data are built per document.
+ * With pdf.convention.mode=FORMULAIRE, documents are filled from a master form instead
+ * ({@link ConventionPdfTemplate}); the pdf.rendu.duree timer, tagged by mode, compares both paths.
+ *
+ * Files are content-addressed: named after a SHA-256 of everything the document shows, so an
+ * unchanged convention is never rendered twice. A new rendering is written to a temporary file
+ * and moved into place atomically; the file it replaces is deleted by the caller once the
+ * convention points to the new one.
  */
 @Service
 public class PdfGeneratorServiceImpl implements PdfGeneratorService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PdfGeneratorServiceImpl.class);
+
+    // Part of the file hash: bump when the document layout changes so that PDFs are re-rendered
+    private static final int VERSION_RENDU = 1;
+
+    private static final String SEPARATEUR = "\u001F";
+
+    // pid@host, identifies the instance whose generation counters are reported
+    private static final String INSTANCE = ManagementFactory.getRuntimeMXBean().getName();
+
     @Value("${upload.conventions.dir}")
     private String conventionsDir;
 
-    // Professional color scheme
-    private static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(30, 64, 175); // Blue-800
-    private static final DeviceRgb SECONDARY_COLOR = new DeviceRgb(59, 130, 246); // Blue-500
-    private static final DeviceRgb ACCENT_COLOR = new DeviceRgb(16, 185, 129); // Green-500
-    private static final DeviceRgb LIGHT_BG = new DeviceRgb(249, 250, 251); // Gray-50
-    private static final DeviceRgb BORDER_COLOR = new DeviceRgb(229, 231, 235); // Gray-200
+    @Value("${pdf.convention.mode:LAYOUT}")
+    private ModeRenduPdfEnum mode;
+
+    @Autowired
+    private PdfRenderingContext rendering;
+
+    @Autowired
+    private ConventionPdfTemplate conventionPdfTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter rendus;
+    private Counter reutilises;
+    private LocalDateTime compteursDepuis;
+
+    @PostConstruct
+    public void init() {
+        compteursDepuis = LocalDateTime.now();
+        rendus = meterRegistry.counter("pdf.stockage.generations", "resultat", "rendu");
+        reutilises = meterRegistry.counter("pdf.stockage.generations", "resultat", "reutilise");
+    }
 
     @Override
     public String generateConventionPdf(Convention convention) throws Exception {
@@ -50,72 +106,120 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
             Files.createDirectories(uploadPath);
         }
 
-        // Generate PDF filename
-        String fileName = "convention_" + convention.getId() + "_" + System.currentTimeMillis() + ".pdf";
+        // Content-addressed filename: same inputs, same file
+        String fileName = "convention_" + convention.getId() + "_" + empreinte(convention) + ".pdf";
         Path filePath = uploadPath.resolve(fileName);
+        if (Files.exists(filePath)) {
+            reutilises.increment();
+            return fileName;
+        }
 
-        // Generate PDF using iText
+        // Generate PDF using iText into a temporary file of the same directory, then move it in place
+        Path tmpPath = Files.createTempFile(uploadPath, "convention_" + convention.getId() + "_", ".tmp");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (mode == ModeRenduPdfEnum.FORMULAIRE) {
+                conventionPdfTemplate.remplir(convention, tmpPath);
+            } else {
+                genererLayout(convention, tmpPath);
+            }
+            deplacer(tmpPath, filePath);
+        } catch (IOException e) {
+            throw new Exception("Error generating PDF: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+            sample.stop(meterRegistry.timer("pdf.rendu.duree", "mode", mode.name()));
+        }
+        rendus.increment();
+
+        // Return relative path
+        return fileName;
+    }
+
+    /**
+     * SHA-256 (hex) of everything the document shows, plus the rendering mode and version.
+     * The generation date in the footer is deliberately left out.
+     */
+    private String empreinte(Convention convention) {
+        Candidature candidature = convention.getCandidature();
+        Etudiant etudiant = candidature != null ? candidature.getEtudiant() : null;
+        OffreStage offre = candidature != null ? candidature.getOffre() : null;
+        Entreprise entreprise = offre != null ? offre.getEntreprise() : null;
+
+        String entrees = Stream.<Object>of(VERSION_RENDU, mode,
+                        convention.getId(), convention.getDateGeneration(), convention.getStatut(),
+                        convention.getDateDebutStage(), convention.getDateFinStage(),
+                        convention.getSignatureEtudiant(), convention.getSignatureEntreprise(),
+                        convention.getSignatureAdministration(),
+                        etudiant != null ? etudiant.getPrenom() : null, etudiant != null ? etudiant.getNom() : null,
+                        etudiant != null ? etudiant.getEmail() : null, etudiant != null ? etudiant.getNiveau() : null,
+                        etudiant != null ? etudiant.getFiliere() : null, etudiant != null ? etudiant.getTelephone() : null,
+                        entreprise != null ? entreprise.getNomEntreprise() : null,
+                        entreprise != null ? entreprise.getEmail() : null,
+                        entreprise != null ? entreprise.getSecteurActivite() : null,
+                        entreprise != null ? entreprise.getAdresse() : null,
+                        entreprise != null ? entreprise.getTelephone() : null,
+                        offre != null ? offre.getTitre() : null, offre != null ? offre.getTypeOffre() : null,
+                        offre != null ? offre.getDuree() : null, offre != null ? offre.getRemuneration() : null)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATEUR));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(entrees.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Atomic rename, so downloads never see a partially written file.
+     */
+    private void deplacer(Path source, Path cible) throws IOException {
+        try {
+            Files.move(source, cible, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, cible, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Package-private for the JMH benchmarks under src/jmh/java
+    void genererLayout(Convention convention, Path filePath) throws IOException {
         try (PdfWriter writer = new PdfWriter(filePath.toFile());
              PdfDocument pdf = new PdfDocument(writer);
              Document document = new Document(pdf)) {
 
-            // Set margins
+            // Set margins and the shared font
             document.setMargins(50, 50, 60, 50);
+            document.setFont(rendering.police());
 
             generatePdfContent(document, convention);
-        } catch (IOException e) {
-            throw new Exception("Error generating PDF: " + e.getMessage(), e);
         }
-
-        // Return relative path
-        return fileName;
     }
 
     /**
      * Generates professional PDF content for the convention.
      */
     private void generatePdfContent(Document document, Convention convention) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd MMMM yyyy", java.util.Locale.FRENCH);
-        DateTimeFormatter datetimeFormatter = DateTimeFormatter.ofPattern("dd MMMM yyyy 'à' HH:mm", java.util.Locale.FRENCH);
+        Candidature candidature = convention.getCandidature();
+        Etudiant etudiant = candidature != null ? candidature.getEtudiant() : null;
+        OffreStage offre = candidature != null ? candidature.getOffre() : null;
+        Entreprise entreprise = offre != null ? offre.getEntreprise() : null;
 
         // Header with colored background
         Div header = new Div()
-                .setBackgroundColor(PRIMARY_COLOR)
+                .setBackgroundColor(PdfRenderingContext.PRIMARY_COLOR)
                 .setPadding(20)
                 .setMarginBottom(30);
-        
-        Paragraph title = new Paragraph("CONVENTION DE STAGE")
-                .setFontSize(28)
-                .setBold()
-                .setFontColor(ColorConstants.WHITE)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMargin(0);
-        
-        Paragraph subtitle = new Paragraph("Document Officiel")
-                .setFontSize(12)
-                .setFontColor(new DeviceRgb(200, 200, 200))
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMarginTop(5);
-        
-        header.add(title);
-        header.add(subtitle);
+        header.add(new Paragraph("CONVENTION DE STAGE").addStyle(rendering.title).setMargin(0));
+        header.add(new Paragraph("Document Officiel").addStyle(rendering.subtitle).setMarginTop(5));
         document.add(header);
 
         // Convention Number Badge
         Div badgeDiv = new Div()
-                .setBackgroundColor(LIGHT_BG)
-                .setBorder(new SolidBorder(BORDER_COLOR, 1))
+                .addStyle(rendering.panel)
                 .setPadding(15)
                 .setMarginBottom(20);
-        
-        Paragraph badge = new Paragraph("N° Convention: " + convention.getId())
-                .setFontSize(14)
-                .setBold()
-                .setFontColor(PRIMARY_COLOR)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMargin(0);
-        
-        badgeDiv.add(badge);
+        badgeDiv.add(new Paragraph("N° Convention: " + convention.getId()).addStyle(rendering.badge).setMargin(0));
         document.add(badgeDiv);
 
         // Main content in two columns
@@ -125,169 +229,106 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
 
         // Left column - Convention Info
         Cell leftCell = new Cell()
-                .setBorder(new SolidBorder(BORDER_COLOR, 1))
-                .setPadding(15)
-                .setBackgroundColor(LIGHT_BG);
-        
+                .addStyle(rendering.panel)
+                .setPadding(15);
         leftCell.add(createSectionTitle("Informations de la Convention"));
-        leftCell.add(createInfoRow("Date de génération", convention.getDateGeneration().format(datetimeFormatter)));
+        leftCell.add(createInfoRow("Date de génération",
+                convention.getDateGeneration().format(PdfRenderingContext.DATETIME_FORMATTER)));
         leftCell.add(createInfoRow("Statut", convention.getStatut().toString()));
-        
-        long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(
-            convention.getDateDebutStage(), 
-            convention.getDateFinStage()
-        );
+        long daysBetween = ChronoUnit.DAYS.between(convention.getDateDebutStage(), convention.getDateFinStage());
         leftCell.add(createInfoRow("Durée", daysBetween + " jours"));
-        
         mainTable.addCell(leftCell);
 
         // Right column - Stage Period
         Cell rightCell = new Cell()
-                .setBorder(new SolidBorder(BORDER_COLOR, 1))
-                .setPadding(15)
-                .setBackgroundColor(LIGHT_BG);
-        
+                .addStyle(rendering.panel)
+                .setPadding(15);
         rightCell.add(createSectionTitle("Période du Stage"));
-        rightCell.add(createInfoRow("Date de début", convention.getDateDebutStage().format(dateFormatter)));
-        rightCell.add(createInfoRow("Date de fin", convention.getDateFinStage().format(dateFormatter)));
-        
+        rightCell.add(createInfoRow("Date de début",
+                convention.getDateDebutStage().format(PdfRenderingContext.DATE_FORMATTER)));
+        rightCell.add(createInfoRow("Date de fin",
+                convention.getDateFinStage().format(PdfRenderingContext.DATE_FORMATTER)));
         mainTable.addCell(rightCell);
         document.add(mainTable);
 
         // Student Information Section
-        if (convention.getCandidature() != null && convention.getCandidature().getEtudiant() != null) {
-            document.add(createSectionHeader("Informations de l'Étudiant", SECONDARY_COLOR));
-            
+        if (etudiant != null) {
+            document.add(createSectionHeader("Informations de l'Étudiant", PdfRenderingContext.SECONDARY_COLOR));
+
             Table studentTable = createInfoTable();
-            studentTable.addCell(createTableCell("Nom complet", 
-                convention.getCandidature().getEtudiant().getPrenom() + " " + 
-                convention.getCandidature().getEtudiant().getNom(), true));
-            studentTable.addCell(createTableCell("Email", 
-                convention.getCandidature().getEtudiant().getEmail(), false));
-            
-            if (convention.getCandidature().getEtudiant().getNiveau() != null) {
-                studentTable.addCell(createTableCell("Niveau", 
-                    convention.getCandidature().getEtudiant().getNiveau(), true));
+            studentTable.addCell(createTableCell("Nom complet", etudiant.getPrenom() + " " + etudiant.getNom(), true));
+            studentTable.addCell(createTableCell("Email", etudiant.getEmail(), false));
+            if (etudiant.getNiveau() != null) {
+                studentTable.addCell(createTableCell("Niveau", etudiant.getNiveau(), true));
             }
-            if (convention.getCandidature().getEtudiant().getFiliere() != null) {
-                studentTable.addCell(createTableCell("Filière", 
-                    convention.getCandidature().getEtudiant().getFiliere(), false));
+            if (etudiant.getFiliere() != null) {
+                studentTable.addCell(createTableCell("Filière", etudiant.getFiliere(), false));
             }
-            if (convention.getCandidature().getEtudiant().getTelephone() != null) {
-                studentTable.addCell(createTableCell("Téléphone", 
-                    convention.getCandidature().getEtudiant().getTelephone(), true));
+            if (etudiant.getTelephone() != null) {
+                studentTable.addCell(createTableCell("Téléphone", etudiant.getTelephone(), true));
             }
-            
             document.add(studentTable);
         }
 
         // Company Information Section
-        if (convention.getCandidature() != null && convention.getCandidature().getOffre() != null 
-            && convention.getCandidature().getOffre().getEntreprise() != null) {
-            document.add(createSectionHeader("Informations de l'Entreprise", SECONDARY_COLOR));
-            
+        if (entreprise != null) {
+            document.add(createSectionHeader("Informations de l'Entreprise", PdfRenderingContext.SECONDARY_COLOR));
+
             Table companyTable = createInfoTable();
-            companyTable.addCell(createTableCell("Nom de l'entreprise", 
-                convention.getCandidature().getOffre().getEntreprise().getNomEntreprise(), true));
-            companyTable.addCell(createTableCell("Email", 
-                convention.getCandidature().getOffre().getEntreprise().getEmail(), false));
-            
-            if (convention.getCandidature().getOffre().getEntreprise().getSecteurActivite() != null) {
-                companyTable.addCell(createTableCell("Secteur d'activité", 
-                    convention.getCandidature().getOffre().getEntreprise().getSecteurActivite(), true));
+            companyTable.addCell(createTableCell("Nom de l'entreprise", entreprise.getNomEntreprise(), true));
+            companyTable.addCell(createTableCell("Email", entreprise.getEmail(), false));
+            if (entreprise.getSecteurActivite() != null) {
+                companyTable.addCell(createTableCell("Secteur d'activité", entreprise.getSecteurActivite(), true));
             }
-            if (convention.getCandidature().getOffre().getEntreprise().getAdresse() != null) {
-                companyTable.addCell(createTableCell("Adresse", 
-                    convention.getCandidature().getOffre().getEntreprise().getAdresse(), false));
+            if (entreprise.getAdresse() != null) {
+                companyTable.addCell(createTableCell("Adresse", entreprise.getAdresse(), false));
             }
-            if (convention.getCandidature().getOffre().getEntreprise().getTelephone() != null) {
-                companyTable.addCell(createTableCell("Téléphone", 
-                    convention.getCandidature().getOffre().getEntreprise().getTelephone(), true));
+            if (entreprise.getTelephone() != null) {
+                companyTable.addCell(createTableCell("Téléphone", entreprise.getTelephone(), true));
             }
-            
             document.add(companyTable);
         }
 
         // Offer Information Section
-        if (convention.getCandidature() != null && convention.getCandidature().getOffre() != null) {
-            document.add(createSectionHeader("Informations de l'Offre", SECONDARY_COLOR));
-            
+        if (offre != null) {
+            document.add(createSectionHeader("Informations de l'Offre", PdfRenderingContext.SECONDARY_COLOR));
+
             Table offerTable = createInfoTable();
-            offerTable.addCell(createTableCell("Titre", 
-                convention.getCandidature().getOffre().getTitre(), true));
-            offerTable.addCell(createTableCell("Type", 
-                convention.getCandidature().getOffre().getTypeOffre().toString(), false));
-            
-            if (convention.getCandidature().getOffre().getDuree() != null) {
-                offerTable.addCell(createTableCell("Durée", 
-                    convention.getCandidature().getOffre().getDuree() + " mois", true));
+            offerTable.addCell(createTableCell("Titre", offre.getTitre(), true));
+            offerTable.addCell(createTableCell("Type", offre.getTypeOffre().toString(), false));
+            if (offre.getDuree() != null) {
+                offerTable.addCell(createTableCell("Durée", offre.getDuree() + " mois", true));
             }
-            if (convention.getCandidature().getOffre().getRemuneration() != null) {
-                offerTable.addCell(createTableCell("Rémunération", 
-                    convention.getCandidature().getOffre().getRemuneration() + " €", false));
+            if (offre.getRemuneration() != null) {
+                offerTable.addCell(createTableCell("Rémunération", offre.getRemuneration() + " €", false));
             }
-            
             document.add(offerTable);
         }
 
         // Signatures Section
-        document.add(createSectionHeader("Signatures", ACCENT_COLOR));
-        
+        document.add(createSectionHeader("Signatures", PdfRenderingContext.ACCENT_COLOR));
+
         Table signatureTable = new Table(UnitValue.createPercentArray(new float[]{1, 1, 1}))
                 .setWidth(UnitValue.createPercentValue(100))
                 .setMarginBottom(30);
-        
-        // Student signature
-        Cell studentSigCell = createSignatureCell(
-            "Étudiant",
-            convention.getSignatureEtudiant(),
-            convention.getCandidature() != null && convention.getCandidature().getEtudiant() != null
-                ? convention.getCandidature().getEtudiant().getPrenom() + " " + 
-                  convention.getCandidature().getEtudiant().getNom()
-                : "N/A"
-        );
-        signatureTable.addCell(studentSigCell);
-        
-        // Enterprise signature
-        Cell enterpriseSigCell = createSignatureCell(
-            "Entreprise",
-            convention.getSignatureEntreprise(),
-            convention.getCandidature() != null && 
-            convention.getCandidature().getOffre() != null &&
-            convention.getCandidature().getOffre().getEntreprise() != null
-                ? convention.getCandidature().getOffre().getEntreprise().getNomEntreprise()
-                : "N/A"
-        );
-        signatureTable.addCell(enterpriseSigCell);
-        
-        // Administration signature
-        Cell adminSigCell = createSignatureCell(
-            "Administration",
-            convention.getSignatureAdministration(),
-            "Service Administratif"
-        );
-        signatureTable.addCell(adminSigCell);
-        
+        signatureTable.addCell(createSignatureCell("Étudiant", convention.getSignatureEtudiant(),
+                etudiant != null ? etudiant.getPrenom() + " " + etudiant.getNom() : "N/A"));
+        signatureTable.addCell(createSignatureCell("Entreprise", convention.getSignatureEntreprise(),
+                entreprise != null ? entreprise.getNomEntreprise() : "N/A"));
+        signatureTable.addCell(createSignatureCell("Administration", convention.getSignatureAdministration(),
+                "Service Administratif"));
         document.add(signatureTable);
 
         // Footer
         Div footer = new Div()
-                .setBackgroundColor(LIGHT_BG)
-                .setBorder(new SolidBorder(BORDER_COLOR, 1))
+                .addStyle(rendering.panel)
                 .setPadding(10)
                 .setMarginTop(30);
-        
-        Paragraph footerText = new Paragraph(
-            "Document généré le " + java.time.LocalDateTime.now().format(
-                DateTimeFormatter.ofPattern("dd MMMM yyyy 'à' HH:mm", java.util.Locale.FRENCH)
-            ) + " - Système de Gestion de Stages et Alternances"
-        )
-                .setFontSize(9)
-                .setFontColor(new DeviceRgb(107, 114, 128))
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMargin(0);
-        
-        footer.add(footerText);
+        footer.add(new Paragraph("Document généré le "
+                + LocalDateTime.now().format(PdfRenderingContext.DATETIME_FORMATTER)
+                + " - Système de Gestion de Stages et Alternances")
+                .addStyle(rendering.footerText)
+                .setMargin(0));
         document.add(footer);
     }
 
@@ -296,9 +337,7 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
      */
     private Paragraph createSectionTitle(String title) {
         return new Paragraph(title)
-                .setFontSize(14)
-                .setBold()
-                .setFontColor(PRIMARY_COLOR)
+                .addStyle(rendering.sectionTitle)
                 .setMarginBottom(10)
                 .setMarginTop(0);
     }
@@ -312,14 +351,7 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
                 .setPadding(12)
                 .setMarginTop(20)
                 .setMarginBottom(10);
-        
-        Paragraph titlePara = new Paragraph(title)
-                .setFontSize(16)
-                .setBold()
-                .setFontColor(ColorConstants.WHITE)
-                .setMargin(0);
-        
-        header.add(titlePara);
+        header.add(new Paragraph(title).addStyle(rendering.sectionHeaderTitle).setMargin(0));
         return header;
     }
 
@@ -328,7 +360,7 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
      */
     private Paragraph createInfoRow(String label, String value) {
         return new Paragraph(label + ": " + value)
-                .setFontSize(11)
+                .addStyle(rendering.infoRow)
                 .setMarginBottom(5)
                 .setMarginTop(0);
     }
@@ -340,7 +372,7 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
         return new Table(UnitValue.createPercentArray(new float[]{1, 1}))
                 .setWidth(UnitValue.createPercentValue(100))
                 .setMarginBottom(15)
-                .setBorder(new SolidBorder(BORDER_COLOR, 1));
+                .setBorder(PdfRenderingContext.BORDER);
     }
 
     /**
@@ -348,24 +380,15 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
      */
     private Cell createTableCell(String label, String value, boolean isEven) {
         Cell cell = new Cell()
-                .setPadding(12)
-                .setBorder(new SolidBorder(BORDER_COLOR, 0.5f))
-                .setBackgroundColor(isEven ? LIGHT_BG : ColorConstants.WHITE);
-        
-        Paragraph labelPara = new Paragraph(label)
-                .setFontSize(10)
-                .setFontColor(new DeviceRgb(107, 114, 128))
+                .addStyle(rendering.tableCell)
+                .setBackgroundColor(isEven ? PdfRenderingContext.LIGHT_BG : ColorConstants.WHITE);
+        cell.add(new Paragraph(label)
+                .addStyle(rendering.tableLabel)
                 .setMarginBottom(3)
-                .setMarginTop(0)
-                .setBold();
-        
-        Paragraph valuePara = new Paragraph(value != null ? value : "N/A")
-                .setFontSize(11)
-                .setFontColor(new DeviceRgb(17, 24, 39))
-                .setMargin(0);
-        
-        cell.add(labelPara);
-        cell.add(valuePara);
+                .setMarginTop(0));
+        cell.add(new Paragraph(value != null ? value : "N/A")
+                .addStyle(rendering.tableValue)
+                .setMargin(0));
         return cell;
     }
 
@@ -374,53 +397,68 @@ public class PdfGeneratorServiceImpl implements PdfGeneratorService {
      */
     private Cell createSignatureCell(String role, boolean signed, String signerName) {
         Cell cell = new Cell()
-                .setPadding(15)
-                .setBorder(new SolidBorder(BORDER_COLOR, 1))
-                .setBackgroundColor(signed ? new DeviceRgb(220, 252, 231) : LIGHT_BG)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setVerticalAlignment(VerticalAlignment.MIDDLE);
-        
-        Paragraph rolePara = new Paragraph(role)
-                .setFontSize(12)
-                .setBold()
-                .setFontColor(PRIMARY_COLOR)
+                .addStyle(rendering.signatureCell)
+                .setBackgroundColor(signed ? PdfRenderingContext.SIGNED_BG : PdfRenderingContext.LIGHT_BG);
+        cell.add(new Paragraph(role)
+                .addStyle(rendering.signatureRole)
                 .setMarginBottom(8)
-                .setMarginTop(0);
-        
-        String statusText = signed ? "✓ Signé" : "✗ Non signé";
-        DeviceRgb statusColor = signed ? ACCENT_COLOR : new DeviceRgb(239, 68, 68);
-        
-        Paragraph statusPara = new Paragraph(statusText)
-                .setFontSize(14)
-                .setBold()
-                .setFontColor(statusColor)
+                .setMarginTop(0));
+        cell.add(new Paragraph(signed ? "✓ Signé" : "✗ Non signé")
+                .addStyle(rendering.signatureStatus)
+                .setFontColor(signed ? PdfRenderingContext.ACCENT_COLOR : PdfRenderingContext.DANGER_COLOR)
                 .setMarginBottom(5)
-                .setMarginTop(0);
-        
-        Paragraph namePara = new Paragraph(signerName)
-                .setFontSize(10)
-                .setFontColor(new DeviceRgb(107, 114, 128))
-                .setMargin(0);
-        
-        cell.add(rolePara);
-        cell.add(statusPara);
-        cell.add(namePara);
-        
+                .setMarginTop(0));
+        cell.add(new Paragraph(signerName)
+                .addStyle(rendering.signatureName)
+                .setMargin(0));
         return cell;
     }
 
     @Override
-    public Resource getPdfResource(String fileName) {
+    public Path getPdfPath(String fileName) {
+        return Paths.get(conventionsDir).resolve(fileName).normalize();
+    }
+
+    @Override
+    public void deletePdf(String fileName) {
+        Path uploadPath = Paths.get(conventionsDir).normalize();
+        Path filePath = uploadPath.resolve(fileName).normalize();
+        if (!filePath.startsWith(uploadPath)) {
+            logger.warn("Refusing to delete PDF outside of the conventions directory: {}", fileName);
+            return;
+        }
         try {
-            Path filePath = Paths.get(conventionsDir).resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists()) {
-                return resource;
-            } else {
-                throw new RuntimeException("File not found: " + fileName);
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            logger.warn("Could not delete replaced PDF {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    @Override
+    public PdfStockageStatsResponse getStockageStats() {
+        long nombreFichiers = 0;
+        long tailleTotale = 0;
+        Path uploadPath = Paths.get(conventionsDir);
+        if (Files.isDirectory(uploadPath)) {
+            try (Stream<Path> fichiers = Files.list(uploadPath)) {
+                Iterator<Path> iterator = fichiers.filter(p -> p.getFileName().toString().endsWith(".pdf")).iterator();
+                while (iterator.hasNext()) {
+                    try {
+                        tailleTotale += Files.size(iterator.next());
+                        nombreFichiers++;
+                    } catch (NoSuchFileException e) {
+                        // Replaced by a concurrent regeneration since the listing
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading PDF storage", e);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Error loading file: " + fileName, e);
         }
+        long nombreRendus = (long) rendus.count();
+        long nombreReutilises = (long) reutilises.count();
+        long demandes = nombreRendus + nombreReutilises;
+        double taux = demandes > 0 ? (double) nombreReutilises / demandes : 0.0;
+        return new PdfStockageStatsResponse(nombreFichiers, tailleTotale, INSTANCE, compteursDepuis,
+                demandes, nombreRendus, nombreReutilises, taux);
     }
 }
@@ -0,0 +1,205 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.exception.BadRequestException;
+import com.gestionstages.exception.ResourceNotFoundException;
+import com.gestionstages.model.dto.response.PdfJobResponse;
+import com.gestionstages.model.entity.Convention;
+import com.gestionstages.model.enums.StatutConventionEnum;
+import com.gestionstages.model.enums.StatutPdfJobEnum;
+import com.gestionstages.repository.ConventionRepository;
+import com.gestionstages.service.PdfGeneratorService;
+import com.gestionstages.service.PdfJobService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Service implementation for asynchronous convention PDF generation.
+ *
+ * A job loads the convention and its associations in a short read-only transaction, renders
+ * the document outside any transaction (no database connection held while iText lays out the
+ * pages), then records the file name in a second short transaction and deletes the file it
+ * replaces. Nothing is written when the PDF of an unchanged convention is requested again.
+ * Jobs are kept in memory (this instance only) and purged some time after they finish.
+ */
+@Service
+public class PdfJobServiceImpl implements PdfJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfJobServiceImpl.class);
+
+    /**
+     * State of a job, written by the worker thread and read by status requests.
+     */
+    private static class PdfJob {
+        final String id = UUID.randomUUID().toString();
+        final Long conventionId;
+        final LocalDateTime dateCreation = LocalDateTime.now();
+        volatile StatutPdfJobEnum statut = StatutPdfJobEnum.EN_ATTENTE;
+        volatile String fichierPdf;
+        volatile String erreur;
+        volatile LocalDateTime dateDebut;
+        volatile LocalDateTime dateFin;
+
+        PdfJob(Long conventionId) {
+            this.conventionId = conventionId;
+        }
+
+        boolean isTermine() {
+            return statut == StatutPdfJobEnum.TERMINE || statut == StatutPdfJobEnum.ECHEC;
+        }
+
+        PdfJobResponse toResponse() {
+            return new PdfJobResponse(id, conventionId, statut, fichierPdf, erreur, dateCreation, dateDebut, dateFin);
+        }
+    }
+
+    @Autowired
+    private ConventionRepository conventionRepository;
+
+    @Autowired
+    private PdfGeneratorService pdfGeneratorService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("pdfExecutor")
+    private Executor pdfExecutor;
+
+    @Value("${pdf.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, PdfJob> jobs = new ConcurrentHashMap<>();
+
+    // Pending or running job per convention, so repeated requests do not render twice
+    private final Map<Long, PdfJob> jobsActifs = new ConcurrentHashMap<>();
+
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PdfJobResponse soumettre(Long conventionId) {
+        Convention convention = conventionRepository.findById(conventionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Convention non trouvée avec l'ID: " + conventionId));
+
+        // Only generate PDF if convention is signed (RG04)
+        if (convention.getStatut() != StatutConventionEnum.SIGNEE) {
+            throw new BadRequestException("Impossible de générer le PDF. La convention doit être signée par les trois parties.");
+        }
+
+        return enfiler(conventionId).toResponse();
+    }
+
+    @Override
+    public void soumettreApresCommit(Long conventionId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    enfiler(conventionId);
+                } catch (TaskRejectedException e) {
+                    logger.warn("PDF pool saturated, convention {} PDF not generated automatically", conventionId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public PdfJobResponse getJob(String jobId) {
+        PdfJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Tâche de génération PDF non trouvée: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    private PdfJob enfiler(Long conventionId) {
+        PdfJob nouveau = new PdfJob(conventionId);
+        PdfJob job = jobsActifs.putIfAbsent(conventionId, nouveau);
+        if (job != null) {
+            return job;
+        }
+        jobs.put(nouveau.id, nouveau);
+        try {
+            pdfExecutor.execute(() -> executer(nouveau));
+        } catch (TaskRejectedException e) {
+            jobs.remove(nouveau.id);
+            jobsActifs.remove(conventionId, nouveau);
+            throw e;
+        }
+        return nouveau;
+    }
+
+    private void executer(PdfJob job) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        job.dateDebut = LocalDateTime.now();
+        job.statut = StatutPdfJobEnum.EN_COURS;
+        try {
+            Convention convention = readOnlyTransaction.execute(status ->
+                    conventionRepository.findForPdfById(job.conventionId)
+                            .orElseThrow(() -> new ResourceNotFoundException(
+                                    "Convention non trouvée avec l'ID: " + job.conventionId)));
+
+            String fichierPdf = pdfGeneratorService.generateConventionPdf(convention);
+
+            // Same name = unchanged convention, the existing file was reused
+            String ancienFichier = convention.getFichierPdf();
+            if (!fichierPdf.equals(ancienFichier)) {
+                transactionTemplate.executeWithoutResult(status ->
+                        conventionRepository.updateFichierPdf(job.conventionId, fichierPdf));
+                if (ancienFichier != null && !ancienFichier.isEmpty()) {
+                    pdfGeneratorService.deletePdf(ancienFichier);
+                }
+            }
+            job.fichierPdf = fichierPdf;
+            job.statut = StatutPdfJobEnum.TERMINE;
+        } catch (Exception e) {
+            logger.error("PDF generation failed for convention {}", job.conventionId, e);
+            job.erreur = "Erreur lors de la génération du PDF: " + e.getMessage();
+            job.statut = StatutPdfJobEnum.ECHEC;
+        } finally {
+            job.dateFin = LocalDateTime.now();
+            jobsActifs.remove(job.conventionId, job);
+            sample.stop(meterRegistry.timer("pdf.jobs.duree", "statut", job.statut.name()));
+        }
+    }
+
+    /**
+     * Forgets finished jobs older than pdf.jobs.retention-minutes.
+     */
+    @Scheduled(fixedDelayString = "${pdf.jobs.purge-interval-ms:600000}")
+    public void purgerJobsTermines() {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isTermine() && job.dateFin != null && job.dateFin.isBefore(limite));
+    }
+}
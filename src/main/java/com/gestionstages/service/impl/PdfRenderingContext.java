@@ -0,0 +1,130 @@
+package com.gestionstages.service.impl;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.VerticalAlignment;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Layout resources shared by every convention PDF: colors, borders, formatters, text and
+ * cell styles, and the font program.
+ *
+ * Built once and never modified afterwards, so they can be read concurrently by the PDF
+ * workers. A PdfFont belongs to a single document, so only the parsed FontProgram is shared
+ * and {@link #police()} wraps it for each document.
+ */
+@Component
+public class PdfRenderingContext {
+
+    // Professional color scheme
+    static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(30, 64, 175); // Blue-800
+    static final DeviceRgb SECONDARY_COLOR = new DeviceRgb(59, 130, 246); // Blue-500
+    static final DeviceRgb ACCENT_COLOR = new DeviceRgb(16, 185, 129); // Green-500
+    static final DeviceRgb DANGER_COLOR = new DeviceRgb(239, 68, 68); // Red-500
+    static final DeviceRgb LIGHT_BG = new DeviceRgb(249, 250, 251); // Gray-50
+    static final DeviceRgb SIGNED_BG = new DeviceRgb(220, 252, 231); // Green-100
+    static final DeviceRgb BORDER_COLOR = new DeviceRgb(229, 231, 235); // Gray-200
+    static final DeviceRgb MUTED_TEXT = new DeviceRgb(107, 114, 128); // Gray-500
+    static final DeviceRgb SUBTITLE_TEXT = new DeviceRgb(200, 200, 200);
+    static final DeviceRgb BODY_TEXT = new DeviceRgb(17, 24, 39); // Gray-900
+
+    static final Border BORDER = new SolidBorder(BORDER_COLOR, 1);
+    static final Border THIN_BORDER = new SolidBorder(BORDER_COLOR, 0.5f);
+
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMMM yyyy", Locale.FRENCH);
+    static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd MMMM yyyy 'à' HH:mm", Locale.FRENCH);
+
+    // Paragraph styles
+    final Style title = new Style()
+            .setFontSize(28)
+            .setBold()
+            .setFontColor(ColorConstants.WHITE)
+            .setTextAlignment(TextAlignment.CENTER);
+    final Style subtitle = new Style()
+            .setFontSize(12)
+            .setFontColor(SUBTITLE_TEXT)
+            .setTextAlignment(TextAlignment.CENTER);
+    final Style badge = new Style()
+            .setFontSize(14)
+            .setBold()
+            .setFontColor(PRIMARY_COLOR)
+            .setTextAlignment(TextAlignment.CENTER);
+    final Style sectionTitle = new Style()
+            .setFontSize(14)
+            .setBold()
+            .setFontColor(PRIMARY_COLOR);
+    final Style sectionHeaderTitle = new Style()
+            .setFontSize(16)
+            .setBold()
+            .setFontColor(ColorConstants.WHITE);
+    final Style infoRow = new Style()
+            .setFontSize(11);
+    final Style tableLabel = new Style()
+            .setFontSize(10)
+            .setFontColor(MUTED_TEXT)
+            .setBold();
+    final Style tableValue = new Style()
+            .setFontSize(11)
+            .setFontColor(BODY_TEXT);
+    final Style signatureRole = new Style()
+            .setFontSize(12)
+            .setBold()
+            .setFontColor(PRIMARY_COLOR);
+    final Style signatureStatus = new Style()
+            .setFontSize(14)
+            .setBold();
+    final Style signatureName = new Style()
+            .setFontSize(10)
+            .setFontColor(MUTED_TEXT);
+    final Style footerText = new Style()
+            .setFontSize(9)
+            .setFontColor(MUTED_TEXT)
+            .setTextAlignment(TextAlignment.CENTER);
+
+    // Container styles
+    final Style panel = new Style()
+            .setBackgroundColor(LIGHT_BG)
+            .setBorder(BORDER);
+    final Style tableCell = new Style()
+            .setPadding(12)
+            .setBorder(THIN_BORDER);
+    final Style signatureCell = new Style()
+            .setPadding(15)
+            .setBorder(BORDER)
+            .setTextAlignment(TextAlignment.CENTER)
+            .setVerticalAlignment(VerticalAlignment.MIDDLE);
+
+    private FontProgram fontProgram;
+
+    @PostConstruct
+    public void init() {
+        try {
+            fontProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load PDF font " + StandardFonts.HELVETICA, e);
+        }
+    }
+
+    /**
+     * The document font, backed by the shared font program (nothing parsed per document).
+     */
+    PdfFont police() {
+        return PdfFontFactory.createFont(fontProgram, PdfEncodings.WINANSI,
+                PdfFontFactory.EmbeddingStrategy.PREFER_NOT_EMBEDDED);
+    }
+}
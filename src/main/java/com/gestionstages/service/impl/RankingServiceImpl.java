@@ -0,0 +1,120 @@
+package com.gestionstages.service.impl;
+
+import com.gestionstages.event.OffresEntrepriseModifieesEvent;
+import com.gestionstages.event.SuivisTuteurModifiesEvent;
+import com.gestionstages.model.dto.response.DashboardStatsResponse;
+import com.gestionstages.repository.OffreStageRepository;
+import com.gestionstages.repository.SuiviStageRepository;
+import com.gestionstages.service.RankingService;
+import com.gestionstages.util.TopKRanking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for the dashboard rankings.
+ * Each ranking is seeded with one GROUP BY ... ORDER BY ... LIMIT query and then kept up to date
+ * from the events published by the services that create or delete offers and suivis, so the
+ * dashboard does not rescan every partner. Events are applied after commit (a rolled-back change
+ * never reaches the rankings) and the periodic dashboard reconciliation discards both rankings.
+ */
+@Service
+public class RankingServiceImpl implements RankingService {
+
+    private static final int TOP_N = 10;
+    private static final int TRACKED_ENTRIES = TOP_N * 5;
+
+    @Autowired
+    private OffreStageRepository offreStageRepository;
+
+    @Autowired
+    private SuiviStageRepository suiviStageRepository;
+
+    private final TopKRanking<DashboardStatsResponse.TopEntreprise> topEntreprises =
+            new TopKRanking<>(TOP_N, TRACKED_ENTRIES);
+
+    private final TopKRanking<DashboardStatsResponse.TopTuteur> topTuteurs =
+            new TopKRanking<>(TOP_N, TRACKED_ENTRIES);
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DashboardStatsResponse.TopEntreprise> getTopEntreprises() {
+        List<TopKRanking.Entry<DashboardStatsResponse.TopEntreprise>> top = topEntreprises.top().orElseGet(() -> {
+            long modifications = topEntreprises.modifications();
+            List<TopKRanking.Entry<DashboardStatsResponse.TopEntreprise>> rows = offreStageRepository
+                    .findTopEntreprisesByNombreOffres(PageRequest.of(0, TRACKED_ENTRIES))
+                    .stream()
+                    .map(row -> new TopKRanking.Entry<>((Long) row[0],
+                            new DashboardStatsResponse.TopEntreprise((Long) row[0], (String) row[1], null),
+                            ((Number) row[2]).longValue()))
+                    .collect(Collectors.toList());
+            // The rows are an exact answer (same order as the ranking), even when a concurrent
+            // update makes them unusable as a seed or a tie at the boundary makes top() refuse them
+            topEntreprises.seed(rows, modifications);
+            return rows.subList(0, Math.min(TOP_N, rows.size()));
+        });
+        return top.stream()
+                .map(entry -> new DashboardStatsResponse.TopEntreprise(
+                        entry.id(), entry.value().getNomEntreprise(), entry.count()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DashboardStatsResponse.TopTuteur> getTopTuteurs() {
+        List<TopKRanking.Entry<DashboardStatsResponse.TopTuteur>> top = topTuteurs.top().orElseGet(() -> {
+            long modifications = topTuteurs.modifications();
+            List<TopKRanking.Entry<DashboardStatsResponse.TopTuteur>> rows = suiviStageRepository
+                    .findTopTuteursByEtudiantsActifs(PageRequest.of(0, TRACKED_ENTRIES))
+                    .stream()
+                    .map(row -> new TopKRanking.Entry<>((Long) row[0],
+                            new DashboardStatsResponse.TopTuteur((Long) row[0], (String) row[1], (String) row[2], null),
+                            ((Number) row[3]).longValue()))
+                    .collect(Collectors.toList());
+            // The rows are an exact answer (same order as the ranking), even when a concurrent
+            // update makes them unusable as a seed or a tie at the boundary makes top() refuse them
+            topTuteurs.seed(rows, modifications);
+            return rows.subList(0, Math.min(TOP_N, rows.size()));
+        });
+        return top.stream()
+                .map(entry -> new DashboardStatsResponse.TopTuteur(
+                        entry.id(), entry.value().getTuteurNom(), entry.value().getTuteurPrenom(), entry.count()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void invalider() {
+        topEntreprises.invalidate();
+        topTuteurs.invalidate();
+    }
+
+    /**
+     * Refreshes the ranking entry of an entreprise once an offer creation or deletion is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOffresEntrepriseModifiees(OffresEntrepriseModifieesEvent event) {
+        long nbOffres = offreStageRepository.countByEntrepriseId(event.entrepriseId());
+        topEntreprises.update(event.entrepriseId(),
+                new DashboardStatsResponse.TopEntreprise(event.entrepriseId(), event.nomEntreprise(), null),
+                nbOffres);
+    }
+
+    /**
+     * Refreshes the ranking entry of a tutor once a change of its suivis is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSuivisTuteurModifies(SuivisTuteurModifiesEvent event) {
+        long nbEtudiants = suiviStageRepository.countByTuteurEmailAndEtatAvancementNotTermine(event.email());
+        topTuteurs.update(event.tuteurId(),
+                new DashboardStatsResponse.TopTuteur(event.tuteurId(), event.nom(), event.prenom(), null),
+                nbEtudiants);
+    }
+}
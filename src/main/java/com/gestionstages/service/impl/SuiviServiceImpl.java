@@ -1,10 +1,14 @@
 package com.gestionstages.service.impl;
 
+import com.gestionstages.event.StatutTransitionEvent;
+import com.gestionstages.event.SuivisTuteurModifiesEvent;
 import com.gestionstages.exception.BadRequestException;
 import com.gestionstages.exception.ResourceNotFoundException;
 import com.gestionstages.exception.UnauthorizedException;
+import com.gestionstages.mapper.SuiviStageMapper;
 import com.gestionstages.model.dto.request.AssignTuteurRequest;
 import com.gestionstages.model.dto.request.UpdateSuiviRequest;
+import com.gestionstages.model.dto.response.PageResponse;
 import com.gestionstages.model.dto.response.SuiviStageResponse;
 import com.gestionstages.model.entity.Convention;
 import com.gestionstages.model.entity.SuiviStage;
@@ -12,19 +16,21 @@ import com.gestionstages.model.entity.Tuteur;
 import com.gestionstages.model.enums.EtatAvancementEnum;
 import com.gestionstages.model.enums.RoleEnum;
 import com.gestionstages.model.enums.StatutConventionEnum;
+import com.gestionstages.model.enums.TypeOutboxEnum;
 import com.gestionstages.repository.ConventionRepository;
 import com.gestionstages.repository.SuiviStageRepository;
 import com.gestionstages.repository.TuteurRepository;
-import com.gestionstages.service.EmailService;
+import com.gestionstages.service.OutboxService;
 import com.gestionstages.service.SuiviService;
-import org.modelmapper.ModelMapper;
+import com.gestionstages.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing stage follow-up (suivi stages).
@@ -45,10 +51,13 @@ public class SuiviServiceImpl implements SuiviService {
     private TuteurRepository tuteurRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private SuiviStageMapper suiviStageMapper;
 
     @Autowired
-    private EmailService emailService;
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -100,9 +109,12 @@ public class SuiviServiceImpl implements SuiviService {
         suiviStage.setEtatAvancement(EtatAvancementEnum.NON_COMMENCE);
 
         SuiviStage savedSuiviStage = suiviStageRepository.save(suiviStage);
+        eventPublisher.publishEvent(new SuivisTuteurModifiesEvent(
+                tuteur.getId(), tuteur.getNom(), tuteur.getPrenom(), tuteur.getEmail()));
+        eventPublisher.publishEvent(StatutTransitionEvent.creation(EtatAvancementEnum.NON_COMMENCE));
         
-        // Send email notification asynchronously (non-blocking)
-        emailService.sendTuteurAssigne(savedSuiviStage);
+        // Email recorded in this transaction, delivered after commit
+        outboxService.publierEmail(TypeOutboxEnum.EMAIL_TUTEUR_ASSIGNE, savedSuiviStage.getId(), Map.of());
         
         return convertToResponse(savedSuiviStage);
     }
@@ -110,10 +122,13 @@ public class SuiviServiceImpl implements SuiviService {
     @Override
     @Transactional(readOnly = true)
     public List<SuiviStageResponse> getAllSuivis() {
-        List<SuiviStage> suivis = suiviStageRepository.findAll();
-        return suivis.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return suiviStageRepository.findAllResponses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SuiviStageResponse> getAllSuivis(int page, int size) {
+        return Pagination.toPageResponse(suiviStageRepository.findAllResponses(Pagination.of(page, size)));
     }
 
     @Override
@@ -127,10 +142,7 @@ public class SuiviServiceImpl implements SuiviService {
     @Override
     @Transactional(readOnly = true)
     public List<SuiviStageResponse> getMesEtudiants(String emailTuteur) {
-        List<SuiviStage> suivis = suiviStageRepository.findByTuteurEmail(emailTuteur);
-        return suivis.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return suiviStageRepository.findResponsesByTuteurEmail(emailTuteur);
     }
 
     @Override
@@ -157,6 +169,7 @@ public class SuiviServiceImpl implements SuiviService {
         }
 
         // Update etat avancement if provided
+        EtatAvancementEnum ancienEtat = suiviStage.getEtatAvancement();
         if (request.getEtatAvancement() != null && !request.getEtatAvancement().trim().isEmpty()) {
             try {
                 EtatAvancementEnum etat = EtatAvancementEnum.valueOf(request.getEtatAvancement().toUpperCase());
@@ -177,6 +190,12 @@ public class SuiviServiceImpl implements SuiviService {
         }
 
         SuiviStage savedSuiviStage = suiviStageRepository.save(suiviStage);
+        Tuteur tuteur = savedSuiviStage.getTuteur();
+        eventPublisher.publishEvent(new SuivisTuteurModifiesEvent(
+                tuteur.getId(), tuteur.getNom(), tuteur.getPrenom(), tuteur.getEmail()));
+        if (savedSuiviStage.getEtatAvancement() != ancienEtat) {
+            eventPublisher.publishEvent(StatutTransitionEvent.transition(ancienEtat, savedSuiviStage.getEtatAvancement()));
+        }
         return convertToResponse(savedSuiviStage);
     }
 
@@ -188,44 +207,6 @@ public class SuiviServiceImpl implements SuiviService {
      * @return Suivi stage response DTO
      */
     private SuiviStageResponse convertToResponse(SuiviStage suiviStage) {
-        SuiviStageResponse response = modelMapper.map(suiviStage, SuiviStageResponse.class);
-        response.setEtatAvancement(suiviStage.getEtatAvancement().name());
-
-        // Convention information
-        if (suiviStage.getConvention() != null) {
-            response.setConventionId(suiviStage.getConvention().getId());
-            response.setDateDebutStage(suiviStage.getConvention().getDateDebutStage());
-            response.setDateFinStage(suiviStage.getConvention().getDateFinStage());
-
-            // Student information (from convention -> candidature -> etudiant)
-            if (suiviStage.getConvention().getCandidature() != null &&
-                suiviStage.getConvention().getCandidature().getEtudiant() != null) {
-                response.setEtudiantId(suiviStage.getConvention().getCandidature().getEtudiant().getId());
-                response.setEtudiantNom(suiviStage.getConvention().getCandidature().getEtudiant().getNom());
-                response.setEtudiantPrenom(suiviStage.getConvention().getCandidature().getEtudiant().getPrenom());
-                response.setEtudiantEmail(suiviStage.getConvention().getCandidature().getEtudiant().getEmail());
-                response.setEtudiantNiveau(suiviStage.getConvention().getCandidature().getEtudiant().getNiveau());
-                response.setEtudiantFiliere(suiviStage.getConvention().getCandidature().getEtudiant().getFiliere());
-            }
-
-            // Offre information
-            if (suiviStage.getConvention().getCandidature() != null &&
-                suiviStage.getConvention().getCandidature().getOffre() != null) {
-                response.setOffreId(suiviStage.getConvention().getCandidature().getOffre().getId());
-                response.setOffreTitre(suiviStage.getConvention().getCandidature().getOffre().getTitre());
-            }
-        }
-
-        // Tutor information
-        if (suiviStage.getTuteur() != null) {
-            response.setTuteurId(suiviStage.getTuteur().getId());
-            response.setTuteurNom(suiviStage.getTuteur().getNom());
-            response.setTuteurPrenom(suiviStage.getTuteur().getPrenom());
-            response.setTuteurEmail(suiviStage.getTuteur().getEmail());
-            response.setTuteurDepartement(suiviStage.getTuteur().getDepartement());
-            response.setTuteurSpecialite(suiviStage.getTuteur().getSpecialite());
-        }
-
-        return response;
+        return suiviStageMapper.toResponse(suiviStage);
     }
 }
@@ -7,6 +7,7 @@ import com.gestionstages.model.dto.request.UpdateProfileRequest;
 import com.gestionstages.model.dto.response.UserResponse;
 import com.gestionstages.model.entity.*;
 import com.gestionstages.repository.*;
+import com.gestionstages.security.PrincipalCache;
 import com.gestionstages.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +32,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     @Transactional(readOnly = true)
     public UserResponse getMyProfile(String email) {
@@ -69,6 +73,7 @@ public class UserServiceImpl implements UserService {
         updateRoleSpecificFields(utilisateur, request);
 
         Utilisateur savedUser = utilisateurRepository.save(utilisateur);
+        principalCache.evictAfterCommit(email);
         return convertToResponse(savedUser);
     }
 
@@ -88,9 +93,11 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Le nouveau mot de passe doit être différent de l'ancien");
         }
 
-        // Update password
+        // Update password and revoke the tokens issued with the old one
         utilisateur.setMotDePasse(passwordEncoder.encode(request.getNouveauMotDePasse()));
+        utilisateur.setTokenVersion(utilisateur.getTokenVersion() + 1);
         utilisateurRepository.save(utilisateur);
+        principalCache.evictAfterCommit(email);
     }
 
     @Override
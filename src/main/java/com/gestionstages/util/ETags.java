@@ -0,0 +1,44 @@
+package com.gestionstages.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Builds ETag values for conditional GET (If-None-Match / 304 Not Modified).
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong ETag from version-like parts, e.g. {@code of("offre", 12, 3)} gives {@code "offre-12-3"}.
+     */
+    public static String of(String type, Object... parts) {
+        StringBuilder etag = new StringBuilder("\"").append(type);
+        for (Object part : parts) {
+            etag.append('-').append(part);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * ETag of a response body that has no version of its own, derived from its content
+     * (SHA-256 of its string form, truncated to 128 bits). The value only depends on the data,
+     * so it stays valid across restarts and is the same on every instance.
+     * The string form must be deterministic (e.g. Lombok {@code @Data} DTOs of strings, numbers,
+     * dates, lists and ordered maps).
+     */
+    public static String ofContent(String type, Object content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(content).getBytes(StandardCharsets.UTF_8));
+            return of(type, HexFormat.of().formatHex(Arrays.copyOf(hash, 16)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
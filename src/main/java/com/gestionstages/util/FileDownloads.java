@@ -0,0 +1,155 @@
+package com.gestionstages.util;
+
+import com.gestionstages.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * Sends files stored on disk as HTTP downloads:
+ * - conditional GET (ETag / Last-Modified, 304 Not Modified),
+ * - a single byte range (Range / If-Range, 206 Partial Content) so interrupted downloads resume;
+ *   several ranges are answered with the whole file,
+ * - exact Content-Length and a content type derived from the download name,
+ * - zero-copy body: Tomcat sendfile when the connector supports it (plain HTTP NIO connector),
+ *   otherwise FileChannel.transferTo to the response (e.g. over TLS).
+ */
+public final class FileDownloads {
+
+    // Tomcat sendfile request attributes (see Tomcat's DefaultServlet)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileDownloads() {
+    }
+
+    /**
+     * Writes a file as an attachment, honouring conditional and range headers.
+     *
+     * @param request The current request
+     * @param response The response to write
+     * @param fichier The file on disk
+     * @param nomTelechargement The file name proposed to the client (also gives the content type)
+     * @throws ResourceNotFoundException if the file does not exist
+     */
+    public static void envoyer(HttpServletRequest request, HttpServletResponse response,
+                               Path fichier, String nomTelechargement) throws IOException {
+        BasicFileAttributes attributs;
+        try {
+            attributs = Files.readAttributes(fichier, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Fichier introuvable: " + nomTelechargement);
+        }
+        long taille = attributs.size();
+        long dateModification = attributs.lastModifiedTime().toMillis();
+        String etag = ETags.of("fichier", Long.toHexString(dateModification), Long.toHexString(taille));
+
+        // Sets ETag and Last-Modified, or answers 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag, dateModification)) {
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(nomTelechargement)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(nomTelechargement, StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long debut = 0;
+        long fin = taille - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && taille > 0 && ifRangeSatisfait(request, etag, dateModification)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    debut = ranges.get(0).getRangeStart(taille);
+                    fin = ranges.get(0).getRangeEnd(taille);
+                    if (debut > fin) {
+                        // First byte beyond the end of the file
+                        refuserRange(response, taille);
+                        return;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + debut + "-" + fin + "/" + taille);
+                }
+            } catch (IllegalArgumentException e) {
+                // Malformed
+                refuserRange(response, taille);
+                return;
+            }
+        }
+        long longueur = fin - debut + 1;
+        response.setContentLengthLong(longueur);
+
+        if ("HEAD".equals(request.getMethod()) || longueur == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat copies the file to the socket itself once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, fichier.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, debut);
+            request.setAttribute(SENDFILE_END, fin + 1);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            WritableByteChannel sortie = Channels.newChannel(response.getOutputStream());
+            long position = debut;
+            long restant = longueur;
+            while (restant > 0) {
+                long envoyes = canal.transferTo(position, restant, sortie);
+                if (envoyes <= 0) {
+                    throw new EOFException("File truncated during download: " + fichier.getFileName());
+                }
+                position += envoyes;
+                restant -= envoyes;
+            }
+        }
+    }
+
+    private static void refuserRange(HttpServletResponse response, long taille) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + taille);
+        response.setContentLengthLong(0);
+    }
+
+    /**
+     * If-Range: the range only applies if the validator still matches (otherwise send the whole file).
+     */
+    private static boolean ifRangeSatisfait(HttpServletRequest request, String etag, long dateModification) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date / 1000 == dateModification / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
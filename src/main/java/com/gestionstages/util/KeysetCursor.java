@@ -0,0 +1,40 @@
+package com.gestionstages.util;
+
+import com.gestionstages.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor on (datePublication, id).
+ * Encoded as URL-safe Base64 of "datePublication|id" so clients treat it as a token.
+ *
+ * @param datePublication Publication date of the last row of the previous page
+ * @param id              ID of the last row of the previous page (tie-breaker)
+ */
+public record KeysetCursor(LocalDateTime datePublication, Long id) {
+
+    public String encode() {
+        String raw = datePublication + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor received from a client.
+     *
+     * @param cursor The opaque cursor
+     * @return The decoded cursor
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Curseur de pagination invalide");
+        }
+    }
+}
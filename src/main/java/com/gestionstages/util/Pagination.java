@@ -0,0 +1,63 @@
+package com.gestionstages.util;
+
+import com.gestionstages.model.dto.response.PageResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Page requests with server-enforced bounds, shared by every paginated endpoint.
+ */
+public final class Pagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private Pagination() {
+    }
+
+    /**
+     * Builds a page request: negative pages become 0, missing or non-positive sizes fall back
+     * to the default size and sizes above MAX_PAGE_SIZE are clamped to it.
+     */
+    public static Pageable of(Integer page, Integer size, Sort sort) {
+        return PageRequest.of(page(page), size(size), sort);
+    }
+
+    public static Pageable of(Integer page, Integer size) {
+        return of(page, size, Sort.unsorted());
+    }
+
+    public static int page(Integer page) {
+        return page != null && page >= 0 ? page : 0;
+    }
+
+    public static int size(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public static <T> PageResponse<T> toPageResponse(Page<T> page) {
+        return toPageResponse(page, page.getContent());
+    }
+
+    /**
+     * Builds the response from a page and its already converted content.
+     */
+    public static <T> PageResponse<T> toPageResponse(Page<?> page, List<T> content) {
+        return new PageResponse<>(
+                content,
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast()
+        );
+    }
+}
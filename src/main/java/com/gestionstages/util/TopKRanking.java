@@ -0,0 +1,158 @@
+package com.gestionstages.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory ranking of the entries with the highest counts.
+ * Keeps up to {@code capacity} entries (more than the K that are displayed) so that
+ * incremental updates rarely require a full recomputation.
+ *
+ * The ranking remembers the highest count among the entries it does not track
+ * ({@code evictedCeiling}). As long as the K-th tracked count stays strictly above that ceiling,
+ * the top K is exact; otherwise (including a tie, since an untracked entry with the same count may
+ * win the tie-break) {@link #top()} returns empty and the caller must re-seed it from the database.
+ *
+ * Seeding races with updates: the caller reads {@link #modifications()} before querying the
+ * database and passes it to {@link #seed(List, long)}, which refuses the rows if an update or an
+ * invalidation happened in between (the rows may predate it).
+ *
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: on Java 21, a virtual
+ * thread waiting for a monitor pins its carrier thread.
+ *
+ * @param <T> The value displayed with each entry (e.g. a DTO)
+ */
+public class TopKRanking<T> {
+
+    public record Entry<T>(Long id, T value, long count) {
+    }
+
+    private static final Comparator<Entry<?>> BY_COUNT_DESC =
+            Comparator.<Entry<?>>comparingLong(Entry::count).reversed()
+                    .thenComparing(Entry::id);
+
+    private final int k;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private long evictedCeiling = 0;
+    private boolean seeded = false;
+    private long modifications = 0;
+
+    public TopKRanking(int k, int capacity) {
+        if (k <= 0 || capacity < k) {
+            throw new IllegalArgumentException("Invalid ranking bounds: k=" + k + ", capacity=" + capacity);
+        }
+        this.k = k;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Number of updates and invalidations so far; read before loading the rows to seed.
+     */
+    public long modifications() {
+        lock.lock();
+        try {
+            return modifications;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the ranking content with rows loaded from the database, highest first.
+     *
+     * @param rows The top rows (at most {@code capacity})
+     * @param modificationsBeforeLoad The value of {@link #modifications()} read before loading the rows
+     * @return false if the ranking changed while the rows were loaded (the rows are then ignored)
+     */
+    public boolean seed(List<Entry<T>> rows, long modificationsBeforeLoad) {
+        lock.lock();
+        try {
+            if (modifications != modificationsBeforeLoad) {
+                return false;
+            }
+            entries.clear();
+            for (Entry<T> row : rows) {
+                if (row.count() > 0) {
+                    entries.put(row.id(), row);
+                }
+            }
+            // If the query returned a full page, anything beyond it counts at most as much as the last row
+            evictedCeiling = rows.size() >= capacity ? rows.get(rows.size() - 1).count() : 0;
+            seeded = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the new absolute count of an entry.
+     * Only counted until the ranking has been seeded (a seed in progress is then refused).
+     */
+    public void update(Long id, T value, long count) {
+        lock.lock();
+        try {
+            modifications++;
+            if (!seeded) {
+                return;
+            }
+            if (count <= 0) {
+                entries.remove(id);
+                return;
+            }
+            entries.put(id, new Entry<>(id, value, count));
+            if (entries.size() > capacity) {
+                Entry<T> lowest = entries.values().stream().max(BY_COUNT_DESC).orElseThrow();
+                entries.remove(lowest.id());
+                evictedCeiling = Math.max(evictedCeiling, lowest.count());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces the next read to re-seed the ranking.
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            seeded = false;
+            modifications++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the top K entries, or empty if the ranking is not seeded or can no longer
+     * guarantee an exact result.
+     */
+    public Optional<List<Entry<T>>> top() {
+        List<Entry<T>> sorted;
+        long ceiling;
+        lock.lock();
+        try {
+            if (!seeded) {
+                return Optional.empty();
+            }
+            sorted = new ArrayList<>(entries.values());
+            ceiling = evictedCeiling;
+        } finally {
+            lock.unlock();
+        }
+        // The snapshot is sorted outside the lock
+        sorted.sort(BY_COUNT_DESC);
+        if (ceiling > 0 && (sorted.size() < k || sorted.get(k - 1).count() <= ceiling)) {
+            return Optional.empty();
+        }
+        return Optional.of(List.copyOf(sorted.subList(0, Math.min(k, sorted.size()))));
+    }
+}
@@ -0,0 +1,101 @@
+package com.gestionstages.controller;
+
+import com.gestionstages.security.PrincipalCache;
+import com.gestionstages.service.impl.CacheStatsServiceImpl;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CacheControllerTest {
+
+	private static final String ENTITY_REGION = "com.gestionstages.model.entity.Utilisateur";
+	private static final String QUERY_REGION = "default-query-results-region";
+
+	@Mock
+	private EntityManagerFactory entityManagerFactory;
+
+	@Mock
+	private PrincipalCache principalCache;
+
+	@Mock
+	private SessionFactory sessionFactory;
+
+	@Mock
+	private Statistics statistics;
+
+	@InjectMocks
+	private CacheStatsServiceImpl cacheStatsService;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		CacheController controller = new CacheController();
+		ReflectionTestUtils.setField(controller, "cacheStatsService", cacheStatsService);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+		when(sessionFactory.getStatistics()).thenReturn(statistics);
+		when(principalCache.stats()).thenReturn(CacheStats.empty());
+	}
+
+	@Test
+	void statsIncludeQueryResultsRegionWhenQueryCacheIsEnabled() throws Exception {
+		// With the query cache enabled, Hibernate lists the query results region among the cache regions
+		when(statistics.isStatisticsEnabled()).thenReturn(true);
+		when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{ENTITY_REGION, QUERY_REGION});
+		CacheRegionStatistics entityStats = regionStatistics(5, 2, 3, 3);
+		CacheRegionStatistics queryStats = regionStatistics(7, 1, 1, 1);
+		when(statistics.getCacheRegionStatistics(ENTITY_REGION)).thenReturn(entityStats);
+		when(statistics.getCacheRegionStatistics(QUERY_REGION)).thenReturn(queryStats);
+		// Hibernate's behaviour for a query results region
+		lenient().when(statistics.getDomainDataRegionStatistics(anyString())).thenThrow(new IllegalArgumentException(
+				"Region name [" + QUERY_REGION + "] referred to a query result region, not a domain data region"));
+
+		mockMvc.perform(get("/api/admin/cache/stats"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.statisticsEnabled").value(true))
+				.andExpect(jsonPath("$.regions['" + ENTITY_REGION + "'].hits").value(5))
+				.andExpect(jsonPath("$.regions['" + QUERY_REGION + "'].hits").value(7))
+				.andExpect(jsonPath("$.regions['" + QUERY_REGION + "'].misses").value(1));
+	}
+
+	@Test
+	void unknownRegionIsSkipped() throws Exception {
+		when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"disparue"});
+		when(statistics.getCacheRegionStatistics("disparue")).thenReturn(null);
+
+		mockMvc.perform(get("/api/admin/cache/stats"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.regions").isEmpty());
+	}
+
+	private static CacheRegionStatistics regionStatistics(long hits, long misses, long puts, long elements) {
+		CacheRegionStatistics region = mock(CacheRegionStatistics.class);
+		when(region.getHitCount()).thenReturn(hits);
+		when(region.getMissCount()).thenReturn(misses);
+		when(region.getPutCount()).thenReturn(puts);
+		when(region.getElementCountInMemory()).thenReturn(elements);
+		return region;
+	}
+}
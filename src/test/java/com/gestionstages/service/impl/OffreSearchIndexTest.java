@@ -0,0 +1,44 @@
+package com.gestionstages.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffreSearchIndexTest {
+
+	private final OffreSearchIndex index = new OffreSearchIndex();
+
+	@Test
+	void requiresEveryWordAsPrefix() {
+		assertThat(index.toBooleanQuery("Dev Java")).isEqualTo("+dev* +java*");
+	}
+
+	@Test
+	void dropsWordsShorterThanThreeCharacters() {
+		assertThat(index.toBooleanQuery("un stage en IA web")).isEqualTo("+stage* +web*");
+	}
+
+	@Test
+	void returnsNullWhenNoWordIsIndexable() {
+		assertThat(index.toBooleanQuery("a de IA")).isNull();
+		assertThat(index.toBooleanQuery("   ")).isNull();
+		assertThat(index.toBooleanQuery(null)).isNull();
+	}
+
+	@Test
+	void stripsBooleanModeOperators() {
+		assertThat(index.toBooleanQuery("-java +spring \"data\" (boot) <api> ~rest* @sql"))
+				.isEqualTo("+java* +spring* +data* +boot* +api* +rest* +sql*");
+	}
+
+	@Test
+	void operatorsCannotFormWordsOnTheirOwn() {
+		assertThat(index.toBooleanQuery("+++ --- *** \"\"")).isNull();
+	}
+
+	@Test
+	void keepsAccentedLettersDigitsAndUnderscores() {
+		assertThat(index.toBooleanQuery("Développeur C++ node_js 2025"))
+				.isEqualTo("+développeur* +node_js* +2025*");
+	}
+}
@@ -0,0 +1,216 @@
+package com.gestionstages.util;
+
+import com.gestionstages.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileDownloadsTest {
+
+	private static final byte[] CONTENU = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+	private static final Instant MODIFICATION = Instant.parse("2025-03-14T09:26:53Z");
+
+	@TempDir
+	Path dossier;
+
+	private Path fichier;
+
+	private String etag;
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	@BeforeEach
+	void creerFichier() throws Exception {
+		fichier = Files.write(dossier.resolve("convention.pdf"), CONTENU);
+		Files.setLastModifiedTime(fichier, FileTime.from(MODIFICATION));
+		etag = ETags.of("fichier", Long.toHexString(MODIFICATION.toEpochMilli()), Long.toHexString(CONTENU.length));
+	}
+
+	private MockHttpServletRequest get() {
+		return new MockHttpServletRequest("GET", "/api/conventions/1/pdf");
+	}
+
+	private void envoyer(MockHttpServletRequest request) throws Exception {
+		FileDownloads.envoyer(request, response, fichier, "convention.pdf");
+	}
+
+	@Test
+	void sendsWholeFileWithValidators() throws Exception {
+		envoyer(get());
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsByteArray()).isEqualTo(CONTENU);
+		assertThat(response.getContentLengthLong()).isEqualTo(CONTENU.length);
+		assertThat(response.getContentType()).isEqualTo("application/pdf");
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+		assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(MODIFICATION.toEpochMilli());
+		assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+		assertThat(response.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment").contains("convention.pdf");
+	}
+
+	@Test
+	void answersNotModifiedWhenEtagMatches() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void sendsSingleRange() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+		assertThat(response.getContentLengthLong()).isEqualTo(4);
+		assertThat(response.getContentAsString()).isEqualTo("2345");
+	}
+
+	@Test
+	void sendsOpenEndedAndSuffixRanges() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=7-");
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+		assertThat(response.getContentAsString()).isEqualTo("789");
+
+		MockHttpServletResponse suffixe = new MockHttpServletResponse();
+		MockHttpServletRequest derniers = get();
+		derniers.addHeader(HttpHeaders.RANGE, "bytes=-2");
+		FileDownloads.envoyer(derniers, suffixe, fichier, "convention.pdf");
+
+		assertThat(suffixe.getStatus()).isEqualTo(206);
+		assertThat(suffixe.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-9/10");
+		assertThat(suffixe.getContentAsString()).isEqualTo("89");
+	}
+
+	@Test
+	void appliesRangeWhenIfRangeEtagMatches() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+		request.addHeader(HttpHeaders.IF_RANGE, etag);
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentAsString()).isEqualTo("0123");
+	}
+
+	@Test
+	void appliesRangeWhenIfRangeDateMatches() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+		request.addHeader(HttpHeaders.IF_RANGE,
+				DateTimeFormatter.RFC_1123_DATE_TIME.format(MODIFICATION.atZone(ZoneOffset.UTC)));
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentAsString()).isEqualTo("0123");
+	}
+
+	@Test
+	void sendsWholeFileWhenIfRangeIsStale() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"fichier-0-0\"");
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+		assertThat(response.getContentAsByteArray()).isEqualTo(CONTENU);
+	}
+
+	@Test
+	void rejectsRangeBeyondEndOfFile() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=10-20");
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void rejectsMalformedRange() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=5-2");
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+	}
+
+	@Test
+	void sendsWholeFileForSeveralRanges() throws Exception {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+		assertThat(response.getContentAsByteArray()).isEqualTo(CONTENU);
+	}
+
+	@Test
+	void headSendsHeadersWithoutBody() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/api/conventions/1/pdf");
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+		envoyer(request);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getContentLengthLong()).isEqualTo(4);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void delegatesBodyToTomcatSendfile() throws Exception {
+		MockHttpServletRequest request = get();
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+		envoyer(request);
+
+		assertThat(response.getContentAsByteArray()).isEmpty();
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+				.isEqualTo(fichier.toAbsolutePath().toString());
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(6L);
+	}
+
+	@Test
+	void missingFileIsNotFound() {
+		assertThatThrownBy(() -> FileDownloads.envoyer(get(), response, dossier.resolve("absent.pdf"), "absent.pdf"))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+}
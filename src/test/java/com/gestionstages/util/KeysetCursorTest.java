@@ -0,0 +1,66 @@
+package com.gestionstages.util;
+
+import com.gestionstages.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void roundTrip() {
+		KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000), 42L);
+
+		assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void roundTripWithoutSeconds() {
+		// LocalDateTime.toString() omits zero seconds ("2025-01-01T00:00")
+		KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 7L);
+
+		assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodedCursorIsUrlSafe() {
+		String encoded = new KeysetCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59), Long.MAX_VALUE).encode();
+
+		assertThat(encoded).matches("[A-Za-z0-9_-]+");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "not base64!", "%%%", "AAAA"})
+	void rejectsMalformedCursor(String cursor) {
+		assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Curseur de pagination invalide");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"2025-13-14T09:26|42", "2025-03-14T09:26|4x2", "2025-03-14T09:26", "|42",
+			"2025-03-14T09:26|", "null|42"})
+	void rejectsTamperedCursor(String raw) {
+		assertThatThrownBy(() -> KeysetCursor.decode(encodeRaw(raw)))
+				.isInstanceOf(BadRequestException.class);
+	}
+
+	@Test
+	void rejectsTruncatedCursor() {
+		String encoded = new KeysetCursor(LocalDateTime.of(2025, 3, 14, 9, 26), 42L).encode();
+
+		assertThatThrownBy(() -> KeysetCursor.decode(encoded.substring(0, encoded.length() / 2)))
+				.isInstanceOf(BadRequestException.class);
+	}
+}
@@ -0,0 +1,159 @@
+package com.gestionstages.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopKRankingTest {
+
+	private static TopKRanking.Entry<String> entry(long id, long count) {
+		return new TopKRanking.Entry<>(id, "e" + id, count);
+	}
+
+	private static List<Long> ids(TopKRanking<String> ranking) {
+		return ranking.top().orElseThrow().stream().map(TopKRanking.Entry::id).toList();
+	}
+
+	@Test
+	void rejectsInvalidBounds() {
+		assertThatThrownBy(() -> new TopKRanking<String>(0, 5)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TopKRanking<String>(3, 2)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void isEmptyUntilSeeded() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+
+		assertThat(ranking.top()).isEmpty();
+	}
+
+	@Test
+	void returnsTopKHighestFirstWithTiesBrokenById() {
+		TopKRanking<String> ranking = new TopKRanking<>(3, 5);
+		ranking.seed(List.of(entry(4, 9), entry(2, 5), entry(1, 5), entry(3, 1)), ranking.modifications());
+
+		assertThat(ids(ranking)).containsExactly(4L, 1L, 2L);
+	}
+
+	@Test
+	void ignoresZeroCountsWhenSeeding() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+		ranking.seed(List.of(entry(1, 3), entry(2, 0)), ranking.modifications());
+
+		assertThat(ids(ranking)).containsExactly(1L);
+	}
+
+	@Test
+	void increaseMovesEntryUp() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+		ranking.seed(List.of(entry(1, 5), entry(2, 4), entry(3, 3)), ranking.modifications());
+
+		ranking.update(3L, "e3", 6);
+
+		assertThat(ids(ranking)).containsExactly(3L, 1L);
+	}
+
+	@Test
+	void decreaseToZeroRemovesEntry() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+		ranking.seed(List.of(entry(1, 5), entry(2, 4), entry(3, 3)), ranking.modifications());
+
+		ranking.update(1L, "e1", 0);
+
+		assertThat(ids(ranking)).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void evictionRaisesCeilingAndDecreaseBelowItRequiresReseed() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 3);
+		ranking.seed(List.of(entry(1, 10), entry(2, 8)), ranking.modifications());
+		ranking.update(3L, "e3", 5);
+		// Over capacity: the lowest entry (4 -> count 2) is evicted, ceiling becomes 2
+		ranking.update(4L, "e4", 2);
+		assertThat(ids(ranking)).containsExactly(1L, 2L);
+
+		// The K-th entry still counts more than anything evicted
+		ranking.update(2L, "e2", 3);
+		assertThat(ids(ranking)).containsExactly(1L, 3L);
+
+		// Tracked entries drop below the evicted ceiling: the ranking can no longer be trusted
+		ranking.update(3L, "e3", 1);
+		ranking.update(2L, "e2", 1);
+		assertThat(ranking.top()).isEmpty();
+	}
+
+	@Test
+	void fullSeedPageSetsCeilingFromLastRow() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 3);
+		ranking.seed(List.of(entry(1, 9), entry(2, 7), entry(3, 4)), ranking.modifications());
+		assertThat(ids(ranking)).containsExactly(1L, 2L);
+
+		// An untracked entry may count 4: the K-th tracked entry drops below it
+		ranking.update(3L, "e3", 2);
+		ranking.update(2L, "e2", 3);
+		assertThat(ranking.top()).isEmpty();
+	}
+
+	@Test
+	void tieWithCeilingRequiresReseed() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 3);
+		ranking.seed(List.of(entry(1, 9), entry(3, 7), entry(4, 4)), ranking.modifications());
+
+		// An untracked entry (e.g. id 2) may also count 4 and win the tie-break against entry 3
+		ranking.update(3L, "e3", 4);
+
+		assertThat(ranking.top()).isEmpty();
+	}
+
+	@Test
+	void tieWithEvictedEntryRequiresReseed() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 3);
+		ranking.seed(List.of(entry(2, 10), entry(3, 8)), ranking.modifications());
+		ranking.update(4L, "e4", 6);
+		// Over capacity: entry 1 (count 5) is evicted, ceiling becomes 5
+		ranking.update(1L, "e1", 5);
+
+		// Entry 3 ties with the evicted entry 1, which ranks first on id
+		ranking.update(3L, "e3", 5);
+		ranking.update(4L, "e4", 5);
+
+		assertThat(ranking.top()).isEmpty();
+	}
+
+	@Test
+	void updatesAreIgnoredBeforeSeed() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+		ranking.update(1L, "e1", 5);
+
+		assertThat(ranking.top()).isEmpty();
+	}
+
+	@Test
+	void seedIsRefusedWhenAnUpdateHappenedDuringTheLoad() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+		long modifications = ranking.modifications();
+		ranking.update(1L, "e1", 5);
+
+		boolean seeded = ranking.seed(List.of(entry(1, 4), entry(2, 3)), modifications);
+
+		assertThat(seeded).isFalse();
+		assertThat(ranking.top()).isEmpty();
+		assertThat(ranking.seed(List.of(entry(1, 5), entry(2, 3)), ranking.modifications())).isTrue();
+		assertThat(ids(ranking)).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void invalidateForcesReseedAndRefusesPendingSeeds() {
+		TopKRanking<String> ranking = new TopKRanking<>(2, 4);
+		ranking.seed(List.of(entry(1, 5)), ranking.modifications());
+		long modifications = ranking.modifications();
+
+		ranking.invalidate();
+
+		assertThat(ranking.top()).isEmpty();
+		assertThat(ranking.seed(List.of(entry(1, 5)), modifications)).isFalse();
+	}
+}